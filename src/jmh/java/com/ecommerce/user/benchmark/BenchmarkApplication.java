@@ -0,0 +1,40 @@
+package com.ecommerce.user.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ecommerce.user.UserServiceApplication;
+
+/**
+ * Starts the real application context against the embedded H2 database
+ * configured in application-benchmark.yaml.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("benchmark")
+                .run(args);
+    }
+
+    /**
+     * Same as {@link #start}, but with the embedded Tomcat on a random port
+     * (see {@link #port}) and {@link SlowDatabase} installed.
+     */
+    static ConfigurableApplicationContext startWeb(String... args) {
+        return new SpringApplicationBuilder(UserServiceApplication.class, SlowDatabase.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("benchmark")
+                .properties("server.port=0")
+                .run(args);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
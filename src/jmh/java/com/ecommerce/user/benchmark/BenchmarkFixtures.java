@@ -0,0 +1,51 @@
+package com.ecommerce.user.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ecommerce.user.config.JwtConfig;
+import com.ecommerce.user.config.JwtProperties;
+import com.ecommerce.user.config.SigningKeyProperties;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
+import com.ecommerce.user.model.db.projection.AuthRow;
+
+/**
+ * Shared test data and wiring for the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final String EMAIL = "bench.user@example.com";
+    static final String PASSWORD = "Password123!";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties jwtProperties(JwtSigningAlgorithm algorithm) {
+        return new JwtProperties("http://localhost:8080", 3600L, algorithm, Duration.ofMinutes(5));
+    }
+
+    /**
+     * An in-memory key manager (no keystore, no rotation) wired like JwtConfig does.
+     */
+    static SigningKeyManager signingKeyManager(JwtConfig jwtConfig, JwtProperties jwtProperties) {
+        SigningKeyProperties keyProperties = new SigningKeyProperties(null, false,
+                Duration.ofDays(30), Duration.ofDays(1), Duration.ofMinutes(1));
+        return jwtConfig.signingKeyManager(keyProperties, jwtProperties);
+    }
+
+    /**
+     * The rows UserRepository.findAuthRowsByEmail returns for a user holding every role.
+     */
+    static List<AuthRow> authRows(String encodedPassword) {
+        return Arrays.stream(RoleName.values())
+                .<AuthRow>map(roleName -> new Row(42L, EMAIL, encodedPassword, roleName))
+                .toList();
+    }
+
+    private record Row(Long getUserId, String getEmail, String getPasswordHash, RoleName getRoleName)
+            implements AuthRow {
+    }
+}
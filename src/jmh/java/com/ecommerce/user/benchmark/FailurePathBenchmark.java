@@ -0,0 +1,106 @@
+package com.ecommerce.user.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.ecommerce.user.exception.InvalidPasswordException;
+import com.ecommerce.user.exception.UserNotFoundException;
+import com.ecommerce.user.framework.response.GlobalResponse;
+import com.ecommerce.user.framework.web.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Cost of a failed login outside of the password check: throwing the
+ * authentication failures and producing the 401 body.
+ *
+ * 'before*' reproduce what the stock DaoAuthenticationProvider and the old
+ * handler did: an exception with a stack trace (and a concatenated message for
+ * an unknown email) and a GlobalResponse serialized per request. 'stackDepth'
+ * is the number of frames above the throw; a servlet request through Spring
+ * Security is well over a hundred. The handler's own logging is switched off,
+ * so the body benchmarks compare serialization alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailurePathBenchmark {
+
+    private static final String EMAIL = "attacker-target@example.com";
+
+    @Param({ "20", "150" })
+    private int stackDepth;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler exceptionHandler;
+    private AuthenticationException failure;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        exceptionHandler = new GlobalExceptionHandler(objectMapper);
+        failure = new InvalidPasswordException();
+    }
+
+    @Benchmark
+    public AuthenticationException beforeUnknownEmail() {
+        return atDepth(stackDepth, () -> new UsernameNotFoundException("User not found with email: " + EMAIL));
+    }
+
+    @Benchmark
+    public AuthenticationException afterUnknownEmail() {
+        return atDepth(stackDepth, UserNotFoundException::new);
+    }
+
+    @Benchmark
+    public AuthenticationException beforeWrongPassword() {
+        return atDepth(stackDepth, () -> new BadCredentialsException("Bad credentials"));
+    }
+
+    @Benchmark
+    public AuthenticationException afterWrongPassword() {
+        return atDepth(stackDepth, InvalidPasswordException::new);
+    }
+
+    @Benchmark
+    public byte[] beforeErrorBody() throws JsonProcessingException {
+        ResponseEntity<GlobalResponse<Object>> response = new ResponseEntity<>(
+                GlobalResponse.error("Authentication failed: Bad credentials"), HttpStatus.UNAUTHORIZED);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] afterErrorBody() {
+        return exceptionHandler.handleAuthenticationException(failure).getBody();
+    }
+
+    private static AuthenticationException atDepth(int depth, Supplier<AuthenticationException> failure) {
+        return depth == 0 ? failure.get() : atDepth(depth - 1, failure);
+    }
+}
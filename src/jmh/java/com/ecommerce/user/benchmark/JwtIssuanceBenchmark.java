@@ -0,0 +1,86 @@
+package com.ecommerce.user.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import com.ecommerce.user.config.JwtConfig;
+import com.ecommerce.user.config.JwtProperties;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.ecommerce.user.framework.jwt.AccessTokenIssuer;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
+
+/**
+ * Cost of building the login JwtClaimsSet and signing it with the JwtConfig (RS256) key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtIssuanceBenchmark {
+
+    private static final JwsHeader HEADER = JwsHeader.with(JwtSigningAlgorithm.RS256.getSpringAlgorithm()).build();
+    private static final List<String> AUTHORITIES = List.of("ROLE_BUYER_USER", "ROLE_SELLER_ADMIN");
+
+    private JwtEncoder jwtEncoder;
+    private AccessTokenIssuer accessTokenIssuer;
+    private JwtClaimsSet claims;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = new JwtConfig();
+        JwtProperties jwtProperties = BenchmarkFixtures.jwtProperties(JwtSigningAlgorithm.RS256);
+        SigningKeyManager signingKeyManager = BenchmarkFixtures.signingKeyManager(jwtConfig, jwtProperties);
+        jwtEncoder = jwtConfig.jwtEncoder(signingKeyManager);
+        accessTokenIssuer = jwtConfig.accessTokenIssuer(signingKeyManager, jwtProperties);
+        claims = buildClaims();
+    }
+
+    @Benchmark
+    public JwtClaimsSet buildClaims() {
+        Instant now = Instant.now();
+        return JwtClaimsSet.builder()
+                .issuer("http://localhost:8080")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .subject("42")
+                .claim("authorities", AUTHORITIES)
+                .claim("userId", "42")
+                .build();
+    }
+
+    @Benchmark
+    public String encode() {
+        return jwtEncoder.encode(JwtEncoderParameters.from(HEADER, claims)).getTokenValue();
+    }
+
+    @Benchmark
+    public String buildAndEncode() {
+        return jwtEncoder.encode(JwtEncoderParameters.from(HEADER, buildClaims())).getTokenValue();
+    }
+
+    /**
+     * The login fast path: same token as buildAndEncode.
+     */
+    @Benchmark
+    public String issue() {
+        return accessTokenIssuer.issue("42", AUTHORITIES);
+    }
+}
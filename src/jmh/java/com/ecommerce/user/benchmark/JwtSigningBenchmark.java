@@ -0,0 +1,80 @@
+package com.ecommerce.user.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import com.ecommerce.user.config.JwtConfig;
+import com.ecommerce.user.config.JwtProperties;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
+
+/**
+ * Signing and verification throughput, plus token size, per signing algorithm.
+ * The token size is printed once per fork in the run log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({ "RS256", "ES256", "EDDSA" })
+    private JwtSigningAlgorithm algorithm;
+
+    private JwtEncoder jwtEncoder;
+    private JwtDecoder jwtDecoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties jwtProperties = BenchmarkFixtures.jwtProperties(algorithm);
+        JwtConfig jwtConfig = new JwtConfig();
+        SigningKeyManager signingKeyManager = BenchmarkFixtures.signingKeyManager(jwtConfig, jwtProperties);
+        jwtEncoder = jwtConfig.jwtEncoder(signingKeyManager);
+        jwtDecoder = jwtConfig.jwtDecoder(signingKeyManager);
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(jwtProperties.issuerUrl())
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(jwtProperties.expirationSec()))
+                .subject("42")
+                .claim("authorities", List.of("ROLE_BUYER_USER", "ROLE_SELLER_ADMIN"))
+                .claim("userId", "42")
+                .build();
+        parameters = JwtEncoderParameters.from(JwsHeader.with(algorithm.getSpringAlgorithm()).build(), claims);
+        token = sign();
+        System.out.printf("# %s token size: %d bytes%n", algorithm, token.length());
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtEncoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtDecoder.decode(token);
+    }
+}
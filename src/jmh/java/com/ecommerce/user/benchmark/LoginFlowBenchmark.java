@@ -0,0 +1,86 @@
+package com.ecommerce.user.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.ecommerce.user.controller.login.dto.LoginRequest;
+import com.ecommerce.user.controller.login.dto.LoginResponse;
+import com.ecommerce.user.controller.registration.dto.RegistrationRequest;
+import com.ecommerce.user.controller.registration.dto.UserResponse;
+import com.ecommerce.user.service.login.LoginService;
+import com.ecommerce.user.service.registration.RegistrationService;
+
+/**
+ * End-to-end service-level cost of login and registration, including the
+ * database, on the real application context with an embedded H2 schema.
+ * 'authCache' toggles AuthUserCache, which loadUser and login hit on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginFlowBenchmark {
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Param({ "true", "false" })
+    private boolean authCache;
+
+    private ConfigurableApplicationContext context;
+    private LoginService loginService;
+    private RegistrationService registrationService;
+    private UserDetailsService userDetailsService;
+    private LoginRequest loginRequest;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("--ecommerce.auth-cache.enabled=" + authCache);
+        loginService = context.getBean(LoginService.class);
+        registrationService = context.getBean(RegistrationService.class);
+        userDetailsService = context.getBean(UserDetailsService.class);
+
+        registrationService.registerUser(
+                new RegistrationRequest(BenchmarkFixtures.EMAIL, BenchmarkFixtures.PASSWORD, "Bench User"));
+        loginRequest = new LoginRequest(BenchmarkFixtures.EMAIL, BenchmarkFixtures.PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUser() {
+        return userDetailsService.loadUserByUsername(BenchmarkFixtures.EMAIL);
+    }
+
+    @Benchmark
+    public LoginResponse login() {
+        return loginService.login(loginRequest);
+    }
+
+    @Benchmark
+    public UserResponse register() {
+        String email = "bench." + emailSequence.incrementAndGet() + "@example.com";
+        return registrationService.registerUser(
+                new RegistrationRequest(email, BenchmarkFixtures.PASSWORD, "Bench User"));
+    }
+}
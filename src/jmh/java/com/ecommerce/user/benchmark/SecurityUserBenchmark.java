@@ -0,0 +1,43 @@
+package com.ecommerce.user.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ecommerce.user.model.db.projection.AuthRow;
+import com.ecommerce.user.service.security.AuthSnapshot;
+import com.ecommerce.user.service.security.SecurityUser;
+
+/**
+ * Cost of folding the auth projection rows into Spring Security's UserDetails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityUserBenchmark {
+
+    private List<AuthRow> rows;
+
+    @Setup
+    public void setup() {
+        rows = BenchmarkFixtures.authRows("{bcrypt}$2a$10$abcdefghijklmnopqrstuv");
+    }
+
+    @Benchmark
+    public SecurityUser fromAuthRows() {
+        return new SecurityUser(AuthSnapshot.fromRows(rows).orElseThrow());
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.user.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Adds a fixed delay before every SQL statement, to stand in for a slow MySQL
+ * in front of the embedded H2. Off until setLatencyMillis() is called, so
+ * startup (Liquibase) is not slowed down. Register as an application source.
+ */
+class SlowDatabase implements BeanPostProcessor {
+
+    private static volatile long latencyMillis;
+
+    static void setLatencyMillis(long millis) {
+        latencyMillis = millis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws java.sql.SQLException {
+                return (Connection) proxy(Connection.class, super.getConnection());
+            }
+        };
+    }
+
+    private static Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (type == Connection.class && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return proxy(method.getReturnType(), invoke(method, target, args));
+                    }
+                    if (type != Connection.class && method.getName().startsWith("execute")) {
+                        pause();
+                    }
+                    return invoke(method, target, args);
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static void pause() throws InterruptedException {
+        long millis = latencyMillis;
+        if (millis > 0) {
+            Thread.sleep(millis); // Parks a virtual thread, blocks a platform thread
+        }
+    }
+}
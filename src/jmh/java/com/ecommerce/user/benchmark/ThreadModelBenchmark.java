@@ -0,0 +1,140 @@
+package com.ecommerce.user.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ecommerce.user.controller.registration.dto.RegistrationRequest;
+import com.ecommerce.user.service.registration.RegistrationService;
+
+/**
+ * Platform vs virtual request threads under a login flood against a slow
+ * database. 'loginClients' background clients keep POST /login busy (each one
+ * holds a request thread for at least 'dbLatencyMs'), while the benchmark
+ * measures how long a cheap GET /.well-known/jwks.json waits behind them.
+ * Tomcat is capped at 50 platform threads; login throughput is printed on
+ * teardown. 'virtual' needs the java21 profile (-Pjava21,jmh).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final String LOGIN_BODY = "{\"email\":\"" + BenchmarkFixtures.EMAIL
+            + "\",\"password\":\"" + BenchmarkFixtures.PASSWORD + "\"}";
+
+    @Param({ "platform", "virtual" })
+    private String threadModel;
+
+    @Param({ "50" })
+    private long dbLatencyMs;
+
+    @Param({ "200" })
+    private int loginClients;
+
+    private final AtomicLong logins = new AtomicLong();
+    private final List<Thread> clients = new ArrayList<>();
+    private volatile boolean running;
+    private long startedNanos;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest loginRequest;
+    private HttpRequest jwksRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boolean virtual = "virtual".equals(threadModel);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+        context = BenchmarkApplication.startWeb(
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=50",
+                "--server.tomcat.max-connections=" + (loginClients * 2),
+                "--ecommerce.auth-cache.enabled=false",
+                "--ecommerce.login-throttle.enabled=false",
+                "--ecommerce.password-encoder.bcrypt-min-strength=4",
+                "--ecommerce.password-encoder.bcrypt-max-strength=4");
+        context.getBean(RegistrationService.class).registerUser(
+                new RegistrationRequest(BenchmarkFixtures.EMAIL, BenchmarkFixtures.PASSWORD, "Bench User"));
+        SlowDatabase.setLatencyMillis(dbLatencyMs);
+
+        String baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        loginRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+        jwksRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/.well-known/jwks.json"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        running = true;
+        startedNanos = System.nanoTime();
+        for (int i = 0; i < loginClients; i++) {
+            Thread client = new Thread(this::loginLoop, "login-client-" + i);
+            client.setDaemon(true);
+            client.start();
+            clients.add(client);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        for (Thread client : clients) {
+            client.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        SlowDatabase.setLatencyMillis(0);
+        System.out.printf("%n[%s] %d logins in %.1f s = %.1f logins/s%n",
+                threadModel, logins.get(), seconds, logins.get() / seconds);
+        context.close();
+    }
+
+    @Benchmark
+    public int jwksUnderLoginLoad() throws Exception {
+        return httpClient.send(jwksRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void loginLoop() {
+        while (running) {
+            try {
+                if (httpClient.send(loginRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    logins.incrementAndGet();
+                }
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+}
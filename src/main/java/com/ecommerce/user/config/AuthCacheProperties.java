@@ -0,0 +1,24 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the login-path authentication cache
+ *
+ * @param enabled     when false every login reads the user from the database
+ * @param maximumSize maximum number of cached accounts
+ * @param ttl         time an entry lives after it was loaded
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.auth-cache")
+public record AuthCacheProperties(
+        boolean enabled,
+        @NotNull @Positive Long maximumSize,
+        @NotNull Duration ttl) {
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the admin bulk user import
+ *
+ * @param hashingPoolSize threads hashing imported passwords (separate from the login pool)
+ * @param chunkSize       rows hashed, batched and committed together
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.bulk-import")
+public record BulkImportProperties(
+        @NotNull @Positive Integer hashingPoolSize,
+        @NotNull @Positive @Max(5000) Integer chunkSize) {
+}
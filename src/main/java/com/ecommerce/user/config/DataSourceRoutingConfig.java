@@ -0,0 +1,100 @@
+package com.ecommerce.user.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.ecommerce.user.config.DataSourceRoutingProperties.Replica;
+import com.ecommerce.user.framework.jdbc.ReadWriteRoutingDataSource;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * With 'ecommerce.datasource-routing.enabled', replaces Spring Boot's DataSource
+ * with one pool for the primary and one per replica behind a
+ * ReadWriteRoutingDataSource: read-only transactions go to a replica,
+ * everything else (including Liquibase) to the primary.
+ *
+ * Every pool reports its own hikaricp metrics, tagged pool=primary or the replica name.
+ *
+ * Replica lag is checked on a dedicated thread ('replica-lag'), not on Spring
+ * Boot's single-threaded @Scheduled pool: a long email filter rebuild there
+ * would otherwise freeze the lag readings and keep a lagging replica in rotation.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    private ThreadPoolTaskScheduler lagCheckScheduler; // Only with routing enabled
+
+    @Bean
+    public ReadYourWrites readYourWrites(DataSourceRoutingProperties properties) {
+        return new ReadYourWrites(properties.readYourWritesWindow(), properties.readYourWritesMaximumSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ecommerce.datasource-routing", name = "enabled")
+    public DataSource dataSource(DataSourceRoutingProperties properties, DataSourceProperties dataSourceProperties,
+            Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        // 1. Primary, from spring.datasource
+        HikariDataSource primary = HikariPools.primary(dataSourceProperties, ReadWriteRoutingDataSource.PRIMARY,
+                binder, meterRegistry);
+
+        // 2. One pool per replica, with the same Hikari settings
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (Replica replica : properties.replicas()) {
+            HikariDataSource pool = HikariPools.create(dataSourceProperties, replica.name(), replica.url(),
+                    replica.username(), replica.password(), replica.maximumPoolSize(), binder, meterRegistry);
+            pool.setReadOnly(true);
+            replicas.put(replica.name(), pool);
+        }
+
+        // 3. Read-only transactions go to a replica within the lag tolerance (checked now, then on a schedule)
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas,
+                properties.maxReplicaLag(), properties.lagQuery(), meterRegistry);
+        routing.afterPropertiesSet();
+        routing.checkReplicaLag();
+        lagCheckScheduler = lagCheckScheduler();
+        lagCheckScheduler.scheduleWithFixedDelay(routing::checkReplicaLag, properties.lagCheckInterval());
+
+        // 4. Route at the first statement, when the transaction's read-only flag is known
+        log.info("DataSource routing enabled. Replicas: {}, Max lag: {}", replicas.keySet(),
+                properties.maxReplicaLag());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @PreDestroy
+    public void stopLagChecks() {
+        if (lagCheckScheduler != null) {
+            lagCheckScheduler.shutdown();
+        }
+    }
+
+    // Not a bean: a TaskScheduler bean would also take over every @Scheduled method
+    private static ThreadPoolTaskScheduler lagCheckScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("replica-lag-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
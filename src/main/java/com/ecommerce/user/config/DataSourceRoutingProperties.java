@@ -0,0 +1,48 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for read/write routing between the primary
+ * ('spring.datasource') and its read replicas
+ *
+ * @param enabled                   when false everything goes to 'spring.datasource'
+ * @param maxReplicaLag             replicas lagging more are taken out of rotation
+ * @param lagCheckInterval          how often the lag of every replica is measured
+ * @param lagQuery                  returns the lag in seconds (see ReadWriteRoutingDataSource)
+ * @param readYourWritesWindow      how long reads of a just-written key stay on the primary
+ * @param readYourWritesMaximumSize maximum number of just-written keys remembered
+ * @param replicas                  read replicas; Hikari settings come from 'spring.datasource.hikari'
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.datasource-routing")
+public record DataSourceRoutingProperties(
+        boolean enabled,
+        @NotNull Duration maxReplicaLag,
+        @NotNull Duration lagCheckInterval,
+        @NotBlank String lagQuery,
+        @NotNull Duration readYourWritesWindow,
+        @NotNull @Positive Long readYourWritesMaximumSize,
+        @NotNull @Valid List<Replica> replicas) {
+
+    /**
+     * @param name            pool name, used as the 'pool' tag of the hikaricp metrics
+     * @param maximumPoolSize overrides spring.datasource.hikari.maximum-pool-size when set
+     */
+    public record Replica(
+            @NotBlank String name,
+            @NotBlank String url,
+            String username,
+            String password,
+            @Positive Integer maximumPoolSize) {
+    }
+}
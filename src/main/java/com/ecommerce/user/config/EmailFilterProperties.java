@@ -0,0 +1,34 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the in-memory Bloom filter of registered emails
+ *
+ * @param enabled            when false every lookup goes to the database
+ * @param expectedInsertions minimum capacity; a rebuild sizes for twice the current user count if larger
+ * @param falsePositiveRate  share of unknown emails that still go to the database
+ * @param pageSize           rows per keyset page while (re)building from the users table
+ * @param rebuildInterval    how often the filter is rebuilt from scratch (resizes it with the table)
+ * @param syncInterval       how often users created on other replicas are added
+ * @param syncOverlap        look-back of each sync; must exceed write transaction time plus clock skew
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.email-filter")
+public record EmailFilterProperties(
+        boolean enabled,
+        @NotNull @Positive Long expectedInsertions,
+        @NotNull @DecimalMin(value = "0", inclusive = false) @DecimalMax(value = "1", inclusive = false) Double falsePositiveRate,
+        @NotNull @Positive Integer pageSize,
+        @NotNull Duration rebuildInterval,
+        @NotNull Duration syncInterval,
+        @NotNull Duration syncOverlap) {
+}
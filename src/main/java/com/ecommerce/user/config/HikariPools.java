@@ -0,0 +1,60 @@
+package com.ecommerce.user.config;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds the extra pools of DataSourceRoutingConfig and ShardingConfig with the
+ * 'spring.datasource.hikari' settings, each reporting hikaricp metrics under its name.
+ */
+final class HikariPools {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private HikariPools() {
+    }
+
+    /**
+     * The pool of 'spring.datasource'.
+     */
+    static HikariDataSource primary(DataSourceProperties dataSourceProperties, String name, Binder binder,
+            MeterRegistry meterRegistry) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        configure(pool, name, binder, meterRegistry);
+        return pool;
+    }
+
+    /**
+     * A pool for another database, with the driver of 'spring.datasource'.
+     */
+    static HikariDataSource create(DataSourceProperties dataSourceProperties, String name, String url,
+            String username, String password, Integer maximumPoolSize, Binder binder, MeterRegistry meterRegistry) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        configure(pool, name, binder, meterRegistry);
+        if (maximumPoolSize != null) {
+            pool.setMaximumPoolSize(maximumPoolSize);
+        }
+        return pool;
+    }
+
+    private static void configure(HikariDataSource pool, String name, Binder binder, MeterRegistry meterRegistry) {
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
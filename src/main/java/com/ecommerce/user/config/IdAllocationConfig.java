@@ -0,0 +1,56 @@
+package com.ecommerce.user.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.user.constant.IdAllocationStrategy;
+import com.ecommerce.user.framework.id.IdAllocator;
+import com.ecommerce.user.framework.id.IdAllocatorGenerator;
+import com.ecommerce.user.framework.id.PooledTableIdAllocator;
+import com.ecommerce.user.framework.id.TimeOrderedIdAllocator;
+import com.ecommerce.user.framework.shard.ShardedIdAllocator;
+import com.ecommerce.user.framework.shard.Shards;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Provides the IdAllocator for User ids ('ecommerce.id-allocation.strategy')
+ * and hands it to Hibernate for @AllocatedId. The JDBC bulk import uses the
+ * same bean, so both write paths draw from one id space. With sharding, ids
+ * also carry the owner's bucket (ShardedIdAllocator).
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(IdAllocationProperties.class)
+public class IdAllocationConfig {
+
+    private static final String USERS_SEGMENT = "users";
+
+    @Bean
+    public IdAllocator userIdAllocator(IdAllocationProperties properties, DataSource dataSource, Shards shards) {
+        if (shards.enabled()) {
+            if (properties.strategy() != IdAllocationStrategy.POOLED) {
+                throw new IllegalStateException("Sharding requires ecommerce.id-allocation.strategy=POOLED");
+            }
+            // One sequence for all shards (on shard 0), so ids stay unique when buckets move
+            log.info("User id allocation: sharded POOLED (block size: {})", properties.blockSize());
+            return new ShardedIdAllocator(
+                    new PooledTableIdAllocator(shards.dataSources().get(0), USERS_SEGMENT, properties.blockSize()));
+        }
+        log.info("User id allocation: {} (block size: {}, node id: {})",
+                properties.strategy(), properties.blockSize(), properties.nodeId());
+        return switch (properties.strategy()) {
+            case POOLED -> new PooledTableIdAllocator(dataSource, USERS_SEGMENT, properties.blockSize());
+            case TIME_ORDERED -> new TimeOrderedIdAllocator(properties.nodeId());
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocatorHibernateCustomizer(IdAllocator userIdAllocator) {
+        return hibernateProperties -> hibernateProperties.put(IdAllocatorGenerator.SETTING, userIdAllocator);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.ecommerce.user.constant.IdAllocationStrategy;
+import com.ecommerce.user.framework.id.TimeOrderedIdAllocator;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for user id allocation
+ *
+ * @param strategy  POOLED or TIME_ORDERED
+ * @param blockSize ids reserved per id_allocations round-trip (POOLED)
+ * @param nodeId    this replica's id, unique among running replicas (TIME_ORDERED)
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.id-allocation")
+public record IdAllocationProperties(
+        @NotNull IdAllocationStrategy strategy,
+        @NotNull @Positive Integer blockSize,
+        @NotNull @Min(0) @Max(TimeOrderedIdAllocator.MAX_NODE_ID) Integer nodeId) {
+}
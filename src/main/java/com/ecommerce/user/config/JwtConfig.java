@@ -1,80 +1,73 @@
 package com.ecommerce.user.config;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-import java.util.UUID;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.ecommerce.user.framework.jwt.AccessTokenIssuer;
+import com.ecommerce.user.framework.jwt.JwkSourceJwtDecoder;
+import com.ecommerce.user.framework.jwt.SigningKeyJwtEncoder;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
+import com.nimbusds.jose.JWSAlgorithm;
 
 /**
- * Configures and provides the RSA key and JwtEncoder for JWT issuance.
+ * Configures and provides the signing keys, JwtEncoder, AccessTokenIssuer and JwtDecoder
+ * for JWT issuance.
+ * Keys are loaded from 'ecommerce.jwt.keys.keystore-path' and may rotate at runtime,
+ * so every consumer resolves the active key (or the key by 'kid') per use.
  */
 @Configuration
+@EnableConfigurationProperties({ SigningKeyProperties.class, TokenCacheProperties.class })
 public class JwtConfig {
 
     /**
-     * Generates an in-memory RSA key pair (dev-only).
+     * Provides the SigningKeyManager: the JWKSource for JWKS, decoding and signing.
+     * New keys use 'ecommerce.jwt.signing-algorithm' (RS256, ES256 or EDDSA).
      */
     @Bean
-    public RSAKey rsaKey() {
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            KeyPair keyPair = keyPairGenerator.generateKeyPair();
-            RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-            RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-            return new RSAKey.Builder(publicKey)
-                    .privateKey(privateKey)
-                    .keyID(UUID.randomUUID().toString())
-                    .build();
-        } catch (Exception ex) {
-            throw new IllegalStateException("Failed to generate RSA key", ex);
-        }
+    public SigningKeyManager signingKeyManager(SigningKeyProperties signingKeyProperties,
+            JwtProperties jwtProperties) {
+        return new SigningKeyManager(signingKeyProperties, jwtProperties.signingAlgorithm(),
+                Duration.ofSeconds(jwtProperties.expirationSec()), Clock.systemUTC());
     }
 
     /**
-     * Provides a JWKSet containing the RSA key for API Gateway to fetch JWKS.
+     * Provides JwtEncoder for generic JWT creation.
+     * Signs with the active key directly (NimbusJwtEncoder cannot select OKP keys).
      */
     @Bean
-    public JWKSet jwkSet(RSAKey rsaKey) {
-        return new JWKSet(rsaKey);
+    public JwtEncoder jwtEncoder(SigningKeyManager signingKeyManager) {
+        return new SigningKeyJwtEncoder(signingKeyManager::getActiveKey);
     }
 
     /**
-     * Provides a JWKSource required by JwtEncoder and JwtDecoder.
+     * Provides the AccessTokenIssuer used by LoginService on the login hot path.
      */
     @Bean
-    public JWKSource<SecurityContext> jwkSource(JWKSet jwkSet) {
-        return new ImmutableJWKSet<>(jwkSet);
-    }
-
-    /**
-     * Provides JwtEncoder used by LoginService to create JWTs.
-     */
-    @Bean
-    public JwtEncoder jwtEncoder(JWKSource<SecurityContext> jwkSource) {
-        return new NimbusJwtEncoder(jwkSource);
+    public AccessTokenIssuer accessTokenIssuer(SigningKeyManager signingKeyManager, JwtProperties jwtProperties) {
+        return new AccessTokenIssuer(signingKeyManager::getActiveKey, jwtProperties.issuerUrl(),
+                jwtProperties.expirationSec());
     }
 
     /**
      * Provides JwtDecoder required by .oauth2ResourceServer in SecurityConfig;
-     * used by Spring to configure /.well-known/jwks.json.
+     * used by Spring to configure /.well-known/jwks.json, and by /api/v1/tokens/verify.
+     * Verifies tokens of any supported algorithm against the published keys by 'kid'.
      */
     @Bean
-    public JwtDecoder jwtDecoder(RSAKey rsaKey) throws Exception {
-        return NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+    public JwtDecoder jwtDecoder(SigningKeyManager signingKeyManager) {
+        Set<JWSAlgorithm> algorithms = Arrays.stream(JwtSigningAlgorithm.values())
+                .map(JwtSigningAlgorithm::getJwsAlgorithm)
+                .collect(Collectors.toSet());
+        return new JwkSourceJwtDecoder(signingKeyManager, algorithms);
     }
 }
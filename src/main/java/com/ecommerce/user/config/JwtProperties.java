@@ -1,8 +1,12 @@
 package com.ecommerce.user.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,5 +17,7 @@ import jakarta.validation.constraints.NotNull;
 @ConfigurationProperties(prefix = "ecommerce.jwt")
 public record JwtProperties(
         @NotBlank String issuerUrl,
-        @NotNull Long expirationSec) {
+        @NotNull Long expirationSec,
+        @NotNull JwtSigningAlgorithm signingAlgorithm,
+        @NotNull Duration jwksMaxAge) {
 }
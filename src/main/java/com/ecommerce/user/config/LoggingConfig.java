@@ -0,0 +1,18 @@
+package com.ecommerce.user.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.user.framework.logging.LogPipelineMetrics;
+
+/**
+ * Metrics of the asynchronous logging pipeline defined in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public LogPipelineMetrics logPipelineMetrics() {
+        return new LogPipelineMetrics();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the token-bucket limits in front of /login
+ *
+ * @param enabled     when false no login attempt is throttled
+ * @param maximumSize maximum number of tracked keys per limit (emails, IPs)
+ * @param perEmail    limit on attempts against one account
+ * @param perIp       limit on attempts from one client address
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.login-throttle")
+public record LoginThrottleProperties(
+        boolean enabled,
+        @NotNull @Positive Long maximumSize,
+        @NotNull @Valid Limit perEmail,
+        @NotNull @Valid Limit perIp) {
+
+    /**
+     * @param capacity     attempts allowed in a burst
+     * @param refillPeriod time to earn back one attempt
+     */
+    public record Limit(
+            @NotNull @Positive Integer capacity,
+            @NotNull Duration refillPeriod) {
+    }
+}
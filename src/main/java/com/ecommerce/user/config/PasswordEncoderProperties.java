@@ -0,0 +1,31 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.ecommerce.user.constant.PasswordHashAlgorithm;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Type-safe configuration for the startup-calibrated password encoder.
+ * The work factor is chosen at boot so that the p99 of a single hash stays
+ * within target-latency on the current hardware, but never below the
+ * configured security floor.
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.password-encoder")
+public record PasswordEncoderProperties(
+        @NotNull PasswordHashAlgorithm algorithm,
+        @NotNull Duration targetLatency,
+        @NotNull @Min(1) Integer calibrationSamples,
+        @NotNull @Min(4) @Max(31) Integer bcryptMinStrength,
+        @NotNull @Min(4) @Max(31) Integer bcryptMaxStrength,
+        @NotNull @Min(1) Integer argon2MinIterations,
+        @NotNull @Min(1) Integer argon2MaxIterations,
+        @NotNull @Min(1) Integer argon2MemoryKib) {
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the bounded password hashing executor
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.password-hashing")
+public record PasswordHashingProperties(
+        @NotNull @Positive Integer poolSize,
+        @NotNull @Positive Integer queueCapacity,
+        @NotNull Duration awaitTimeout) {
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for rotating refresh tokens
+ *
+ * @param ttl                 lifetime of each refresh token (every rotation starts a new one)
+ * @param hotIndexMaximumSize tokens kept in memory so a refresh can skip the token SELECT
+ * @param purgeInterval       how often expired tokens are deleted
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.refresh-token")
+public record RefreshTokenProperties(
+        @NotNull Duration ttl,
+        @NotNull @Positive Long hotIndexMaximumSize,
+        @NotNull Duration purgeInterval) {
+}
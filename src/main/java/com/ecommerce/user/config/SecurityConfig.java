@@ -3,50 +3,84 @@ package com.ecommerce.user.config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.framework.web.LoginThrottleFilter;
+import com.ecommerce.user.service.security.BoundedExecutorPasswordEncoder;
+import com.ecommerce.user.service.security.CalibratedPasswordEncoderFactory;
+import com.ecommerce.user.service.security.LoginThrottle;
+import com.ecommerce.user.service.security.PasswordAuthenticationProvider;
+import com.ecommerce.user.service.security.PasswordHashingExecutor;
+import com.ecommerce.user.service.security.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * This configuration:
- * 1. Provides PasswordEncoder Bean (for Registration).
- * 2. Exposes AuthenticationManager Bean (for Login).
- * 3. Configures the *only* security filter chain.
+ * 1. Provides PasswordEncoder Bean (for Registration and Login): a calibrated
+ * DelegatingPasswordEncoder running on the bounded PasswordHashingExecutor.
+ * 2. Exposes AuthenticationManager Bean (for Login), backed by the
+ * PasswordAuthenticationProvider (stackless authentication failures).
+ * 3. Configures the *only* security filter chain. Admin endpoints accept our
+ * own access tokens as Bearer tokens (verified by the JwtDecoder from JwtConfig).
+ * Login attempts pass the LoginThrottleFilter before they reach authentication.
  */
 @Configuration
 @EnableWebSecurity
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({ JwtProperties.class, PasswordHashingProperties.class,
+        PasswordEncoderProperties.class, AuthCacheProperties.class, BulkImportProperties.class,
+        LoginThrottleProperties.class, EmailFilterProperties.class, RefreshTokenProperties.class })
 public class SecurityConfig {
 
     /**
      * Provides the PasswordEncoder Bean for password hashing.
+     * Hashing runs on the dedicated hashing pool, never on the request thread.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedExecutorPasswordEncoder passwordEncoder(
+            CalibratedPasswordEncoderFactory passwordEncoderFactory,
+            PasswordHashingExecutor passwordHashingExecutor,
+            ObservationRegistry observationRegistry) {
+        return new BoundedExecutorPasswordEncoder(passwordEncoderFactory.create(), passwordHashingExecutor,
+                observationRegistry);
     }
 
     /**
      * Exposes the AuthenticationManager as a Bean.
-     * Our custom /login service will use this.
+     * Our custom /login service will use this. It is built directly on the
+     * PasswordAuthenticationProvider rather than on Spring Security's default
+     * DaoAuthenticationProvider; failures are still published as events.
      */
     @Bean
-    public AuthenticationManager authenticationManager(
-            AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(UserDetailsServiceImpl userDetailsService,
+            BoundedExecutorPasswordEncoder passwordEncoder, AuthenticationEventPublisher authenticationEventPublisher) {
+        ProviderManager authenticationManager = new ProviderManager(
+                new PasswordAuthenticationProvider(userDetailsService, passwordEncoder));
+        authenticationManager.setAuthenticationEventPublisher(authenticationEventPublisher);
+        return authenticationManager;
     }
 
     /**
      * The *only* Security Filter Chain for the User Service.
+     * The throttle filter is created here rather than as a bean, so Spring Boot
+     * does not also register it with the servlet container.
      */
     @Bean
-    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http, LoginThrottle loginThrottle,
+            ObjectMapper objectMapper) throws Exception {
         http
                 // Disable CSRF (we use JWT, which is stateless)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -57,12 +91,37 @@ public class SecurityConfig {
                 // Define authorization rules
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/api/v1/users/register").permitAll()
-                        .requestMatchers("/api/v1/users/login").permitAll()
+                        .requestMatchers(LoginThrottleFilter.LOGIN_PATH).permitAll()
+                        .requestMatchers("/api/v1/users/token/refresh").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/users/email-availability").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/tokens/verify").permitAll()
                         .requestMatchers("/.well-known/jwks.json").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/api-docs/**").permitAll()
-                        .anyRequest().authenticated());
+                        .requestMatchers("/api/v1/users/import").hasAuthority(RoleName.ROLE_PLATFORM_ADMIN.name())
+                        .anyRequest().authenticated())
+
+                // Authenticate Bearer tokens; roles come from our custom 'authorities' claim
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+
+                // Token-bucket limits per client IP and per email, ahead of any credential check
+                .addFilterBefore(new LoginThrottleFilter(loginThrottle, objectMapper),
+                        UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    /**
+     * Maps the 'authorities' claim (already "ROLE_"-prefixed) to GrantedAuthorities.
+     */
+    private JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName("authorities");
+        authoritiesConverter.setAuthorityPrefix("");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
 }
@@ -0,0 +1,92 @@
+package com.ecommerce.user.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ecommerce.user.config.ShardingProperties.Shard;
+import com.ecommerce.user.framework.shard.ShardFunction;
+import com.ecommerce.user.framework.shard.ShardRoutingAspect;
+import com.ecommerce.user.framework.shard.ShardRoutingDataSource;
+import com.ecommerce.user.framework.shard.ShardedSpringLiquibase;
+import com.ecommerce.user.framework.shard.Shards;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * With 'ecommerce.sharding.enabled', spreads users, user_roles and
+ * refresh_tokens over shard 0 ('spring.datasource') and the configured shards
+ * by a hash of the email (see ShardFunction):
+ * - a ShardRoutingDataSource replaces Spring Boot's DataSource, and
+ *   ShardRoutingAspect selects the shard of every ShardedRepository call
+ * - the changelog runs on every shard; roles and id_allocations are read from shard 0
+ * - user ids carry their bucket (see IdAllocationConfig)
+ *
+ * Without it, Shards is a single shard and nothing else changes. Read replicas
+ * per shard are not supported: DataSource routing must stay disabled.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({ ShardingProperties.class, LiquibaseProperties.class })
+public class ShardingConfig {
+
+    @Bean
+    public Shards shards(ShardingProperties properties, DataSourceRoutingProperties routingProperties,
+            DataSourceProperties dataSourceProperties, Environment environment, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return Shards.unsharded();
+        }
+        if (routingProperties.enabled()) {
+            throw new IllegalStateException(
+                    "ecommerce.sharding and ecommerce.datasource-routing cannot be enabled together");
+        }
+        Binder binder = Binder.get(environment);
+
+        // Shard 0 from spring.datasource, then the others, with the same Hikari settings
+        List<DataSource> pools = new ArrayList<>();
+        pools.add(HikariPools.primary(dataSourceProperties, "shard-0", binder, meterRegistry));
+        for (Shard shard : properties.shards()) {
+            pools.add(HikariPools.create(dataSourceProperties, "shard-" + pools.size(), shard.url(),
+                    shard.username(), shard.password(), shard.maximumPoolSize(), binder, meterRegistry));
+        }
+        log.info("Sharding enabled. Shards: {}, Buckets: {}", pools.size(), ShardFunction.BUCKETS);
+        return new Shards(pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ecommerce.sharding", name = "enabled")
+    public DataSource dataSource(Shards shards, MeterRegistry meterRegistry) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shards.dataSources(), meterRegistry);
+        routing.afterPropertiesSet();
+        // The shard is known at the first repository call, after the transaction began
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ecommerce.sharding", name = "enabled")
+    public ShardRoutingAspect shardRoutingAspect(Shards shards) {
+        return new ShardRoutingAspect(shards.function());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ecommerce.sharding", name = "enabled")
+    public SpringLiquibase liquibase(Shards shards, LiquibaseProperties liquibaseProperties) {
+        ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(shards.dataSources());
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setShouldRun(liquibaseProperties.isEnabled());
+        return liquibase;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.user.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for hash-sharding the users tables by email
+ *
+ * @param enabled when false everything lives in 'spring.datasource'
+ * @param shards  the shards after shard 0 ('spring.datasource'), in shard order;
+ *                changing the list requires an offline Resharder run
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        @NotNull @Valid List<Shard> shards) {
+
+    /**
+     * @param maximumPoolSize overrides spring.datasource.hikari.maximum-pool-size when set
+     */
+    public record Shard(
+            @NotBlank String url,
+            String username,
+            String password,
+            @Positive Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Type-safe configuration for persistent, rotatable JWT signing keys
+ *
+ * @param keystorePath   JWK set file holding the private keys; when blank, a
+ *                       single in-memory key is generated per boot (dev-only)
+ * @param rotation       whether this instance generates and retires keys;
+ *                       enable on one instance (or a job) per shared keystore
+ * @param rotationPeriod how long a key signs before the next one takes over
+ * @param prePublishLead how long the next key is published in JWKS before it signs
+ * @param checkInterval  how often the keystore is reloaded / rotated
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.jwt.keys")
+public record SigningKeyProperties(
+        String keystorePath,
+        boolean rotation,
+        @NotNull Duration rotationPeriod,
+        @NotNull Duration prePublishLead,
+        @NotNull Duration checkInterval) {
+}
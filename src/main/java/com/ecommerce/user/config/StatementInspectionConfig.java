@@ -0,0 +1,58 @@
+package com.ecommerce.user.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.ecommerce.user.framework.jdbc.InstrumentedDataSource;
+import com.ecommerce.user.framework.jdbc.RepositoryMethodAspect;
+import com.ecommerce.user.framework.jdbc.StatementMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the DataSource in an InstrumentedDataSource (unless
+ * 'ecommerce.statement-inspection.enabled' is false) and attributes its
+ * statements to repository methods with the RepositoryMethodAspect.
+ */
+@Configuration
+@EnableConfigurationProperties(StatementInspectionProperties.class)
+public class StatementInspectionConfig {
+
+    private static final String ENABLED = "ecommerce.statement-inspection.enabled";
+
+    @Bean
+    public StatementMetrics statementMetrics(StatementInspectionProperties properties, MeterRegistry meterRegistry) {
+        return new StatementMetrics(properties, meterRegistry);
+    }
+
+    @Bean
+    public RepositoryMethodAspect repositoryMethodAspect() {
+        return new RepositoryMethodAspect();
+    }
+
+    /**
+     * Static: post-processors are created before regular beans. StatementMetrics
+     * is resolved on the first statement, not while the DataSource is created.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(Environment environment,
+            ObjectProvider<StatementMetrics> statementMetrics) {
+        boolean enabled = environment.getProperty(ENABLED, Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, SingletonSupplier.of(statementMetrics::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+}
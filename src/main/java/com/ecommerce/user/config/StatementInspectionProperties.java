@@ -0,0 +1,28 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for SQL statement timing and logging
+ *
+ * @param enabled       when false the DataSource is not wrapped at all
+ * @param slowThreshold statements at least this slow are always logged (WARN)
+ * @param sampleRate    share of the other statements that are logged (INFO), 0 to 1
+ * @param maximumShapes distinct SQL strings remembered; beyond that statements are timed as "other"
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.statement-inspection")
+public record StatementInspectionProperties(
+        boolean enabled,
+        @NotNull Duration slowThreshold,
+        @NotNull @DecimalMin("0") @DecimalMax("1") Double sampleRate,
+        @NotNull @Positive Integer maximumShapes) {
+}
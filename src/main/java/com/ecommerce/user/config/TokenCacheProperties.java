@@ -0,0 +1,20 @@
+package com.ecommerce.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for the verified-token cache of /api/v1/tokens/verify
+ *
+ * @param enabled     when false every token's signature is checked
+ * @param maximumSize maximum number of cached tokens (each entry lives until the token's 'exp')
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.token-cache")
+public record TokenCacheProperties(
+        boolean enabled,
+        @NotNull @Positive Long maximumSize) {
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.user.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Type-safe configuration for trace sampling
+ *
+ * @param enabled              when false Spring Boot's ratio sampler ('management.tracing.sampling.probability') applies
+ * @param baseRate             share of requests traced regardless of outcome, 0 to 1
+ * @param slowThreshold        requests at least this slow are kept even when not in the base rate
+ * @param spansPerSecond       exported spans per second, across base-rate, error and slow traces
+ * @param maximumPendingTraces traces whose spans are held until their root span decides to keep them
+ */
+@Validated
+@ConfigurationProperties(prefix = "ecommerce.trace-sampling")
+public record TraceSamplingProperties(
+        boolean enabled,
+        @NotNull @DecimalMin("0") @DecimalMax("1") Double baseRate,
+        @NotNull Duration slowThreshold,
+        @NotNull @Positive Integer spansPerSecond,
+        @NotNull @Positive Integer maximumPendingTraces) {
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.user.config;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.ecommerce.user.framework.tracing.AdaptiveSampler;
+import com.ecommerce.user.framework.tracing.SpanBudget;
+import com.ecommerce.user.framework.tracing.TailSamplingSpanProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Replaces Spring Boot's ratio sampler (unless 'ecommerce.trace-sampling.enabled'
+ * is false): a small base rate at the start of each trace, plus traces that end
+ * with an error or slowly, all within one span budget. Actuator requests are
+ * not observed at all (no spans, no http.server.requests timers).
+ */
+@Configuration
+@EnableConfigurationProperties(TraceSamplingProperties.class)
+@ConditionalOnProperty(prefix = "ecommerce.trace-sampling", name = "enabled", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public SpanBudget spanBudget(TraceSamplingProperties properties) {
+        return new SpanBudget(properties.spansPerSecond());
+    }
+
+    @Bean
+    public Sampler adaptiveSampler(TraceSamplingProperties properties, SpanBudget spanBudget) {
+        return new AdaptiveSampler(properties.baseRate(), spanBudget);
+    }
+
+    /**
+     * Registered as a SpanProcessor next to Spring Boot's BatchSpanProcessor, which
+     * only exports sampled spans. Kept traces go to the same exporters through a
+     * second batch processor that accepts unsampled spans.
+     */
+    @Bean
+    public TailSamplingSpanProcessor tailSamplingSpanProcessor(TraceSamplingProperties properties,
+            SpanBudget spanBudget, SpanExporters spanExporters, MeterRegistry meterRegistry) {
+        BatchSpanProcessor exporter = BatchSpanProcessor.builder(SpanExporter.composite(spanExporters.list()))
+                .setExportUnsampledSpans(true)
+                .build();
+        return new TailSamplingSpanProcessor(exporter, spanBudget, properties.slowThreshold(),
+                properties.maximumPendingTraces(), meterRegistry);
+    }
+
+    /**
+     * Health probes and Prometheus scrapes: the HTTP observation is matched on its
+     * request, the observations nested in it (security filters) on the bound request.
+     */
+    @Bean
+    public ObservationPredicate actuatorObservationPredicate(WebEndpointProperties webEndpointProperties) {
+        String actuatorPath = webEndpointProperties.getBasePath() + "/";
+        return (name, context) -> {
+            HttpServletRequest request = context instanceof ServerRequestObservationContext serverContext
+                    ? serverContext.getCarrier()
+                    : RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                            ? attributes.getRequest()
+                            : null;
+            return request == null || !request.getRequestURI().startsWith(actuatorPath);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.user.constant;
+
+/**
+ * How new user ids are allocated (see IdAllocationConfig).
+ */
+public enum IdAllocationStrategy {
+    // Blocks of ids reserved from the id_allocations table; no per-replica setup
+    POOLED,
+    // Timestamp + node id + counter computed in memory; node-id must be unique per replica
+    TIME_ORDERED
+}
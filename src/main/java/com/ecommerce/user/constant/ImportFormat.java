@@ -0,0 +1,30 @@
+package com.ecommerce.user.constant;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Body formats accepted by the bulk user import.
+ */
+public enum ImportFormat {
+    NDJSON(MediaType.valueOf("application/x-ndjson")),
+    CSV(MediaType.valueOf("text/csv"));
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static Optional<ImportFormat> fromMediaType(MediaType contentType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.includes(contentType))
+                .findFirst();
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.user.constant;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.JWKGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+/**
+ * JWS algorithms supported for signing access tokens (ecommerce.jwt.signing-algorithm).
+ *
+ * RS256 is the default for compatibility; ES256 and EdDSA (Ed25519) sign much
+ * faster and produce far smaller signatures, but every token consumer
+ * (e.g. the API Gateway) must accept the algorithm before switching.
+ */
+public enum JwtSigningAlgorithm {
+    RS256(JWSAlgorithm.RS256, SignatureAlgorithm.RS256),
+    ES256(JWSAlgorithm.ES256, SignatureAlgorithm.ES256),
+    // Spring's SignatureAlgorithm has no EdDSA constant; NimbusJwtEncoder only needs the name
+    EDDSA(JWSAlgorithm.EdDSA, () -> JWSAlgorithm.EdDSA.getName());
+
+    private final JWSAlgorithm jwsAlgorithm;
+    private final JwsAlgorithm springAlgorithm;
+
+    JwtSigningAlgorithm(JWSAlgorithm jwsAlgorithm, JwsAlgorithm springAlgorithm) {
+        this.jwsAlgorithm = jwsAlgorithm;
+        this.springAlgorithm = springAlgorithm;
+    }
+
+    /**
+     * The Nimbus algorithm (JWK selection, signature verification).
+     */
+    public JWSAlgorithm getJwsAlgorithm() {
+        return jwsAlgorithm;
+    }
+
+    /**
+     * The Spring algorithm (JwsHeader for JwtEncoder).
+     */
+    public JwsAlgorithm getSpringAlgorithm() {
+        return springAlgorithm;
+    }
+
+    /**
+     * Generates a new signing key pair for this algorithm.
+     */
+    public JWK generateKey(String keyId) throws JOSEException {
+        return generateKey(keyId, Instant.now());
+    }
+
+    /**
+     * Generates a new signing key pair that may sign tokens from 'notBefore' on.
+     */
+    public JWK generateKey(String keyId, Instant notBefore) throws JOSEException {
+        JWKGenerator<? extends JWK> generator = switch (this) {
+            case RS256 -> new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS);
+            case ES256 -> new ECKeyGenerator(Curve.P_256);
+            case EDDSA -> new OctetKeyPairGenerator(Curve.Ed25519);
+        };
+        return generator
+                .keyID(keyId)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(jwsAlgorithm)
+                .issueTime(new Date())
+                .notBeforeTime(Date.from(notBefore))
+                .generate();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.user.constant;
+
+/**
+ * Password hashing algorithms supported for new hashes.
+ * The id is the DelegatingPasswordEncoder prefix stored in users.password,
+ * e.g. "{bcrypt}$2a$12$...".
+ */
+public enum PasswordHashAlgorithm {
+    BCRYPT("bcrypt"),
+    ARGON2("argon2");
+
+    private final String id;
+
+    PasswordHashAlgorithm(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -1,6 +1,14 @@
 package com.ecommerce.user.constant;
 
+import java.util.Set;
+
 public enum RoleName {
     ROLE_BUYER_USER,
-    ROLE_SELLER_ADMIN
+    ROLE_SELLER_ADMIN,
+    ROLE_PLATFORM_ADMIN; // Operators only; never assigned on registration
+
+    /**
+     * Roles every new account gets (registration and bulk import).
+     */
+    public static final Set<RoleName> DEFAULT_ROLES = Set.of(ROLE_BUYER_USER, ROLE_SELLER_ADMIN);
 }
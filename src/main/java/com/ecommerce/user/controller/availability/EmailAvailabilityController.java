@@ -0,0 +1,43 @@
+package com.ecommerce.user.controller.availability;
+
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.user.controller.availability.dto.EmailAvailabilityRequest;
+import com.ecommerce.user.controller.availability.dto.EmailAvailabilityResponse;
+import com.ecommerce.user.framework.response.GlobalResponse;
+import com.ecommerce.user.service.availability.EmailAvailabilityService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for the 'Email Availability' feature (public, used by the signup form).
+ */
+@Tag(name = "User Registration", description = "User Registration API")
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class EmailAvailabilityController {
+
+    private final EmailAvailabilityService emailAvailabilityService;
+
+    @Operation(summary = "Check email availability", description = "Tells whether an email can still be registered. A hint only: registration may still return 409 after a concurrent signup.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability checked", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid email", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class)))
+    })
+    @GetMapping("/email-availability")
+    public GlobalResponse<EmailAvailabilityResponse> checkEmail(
+            @Valid @ParameterObject EmailAvailabilityRequest request) {
+        return GlobalResponse.success(emailAvailabilityService.checkEmail(request.email()));
+    }
+}
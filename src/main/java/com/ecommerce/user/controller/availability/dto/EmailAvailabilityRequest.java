@@ -0,0 +1,10 @@
+package com.ecommerce.user.controller.availability.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Email Availability Query Parameters")
+public record EmailAvailabilityRequest(
+        @Schema(description = "Email to check", example = "test.user@example.com") @NotBlank @Email String email) {
+}
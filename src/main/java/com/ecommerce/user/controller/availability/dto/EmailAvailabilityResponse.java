@@ -0,0 +1,12 @@
+package com.ecommerce.user.controller.availability.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response DTO for the email availability check.
+ */
+@Schema(description = "Email Availability Response DTO")
+public record EmailAvailabilityResponse(
+        @Schema(description = "Email", example = "test.user@example.com") String email,
+        @Schema(description = "Whether the email can be registered", example = "true") boolean available) {
+}
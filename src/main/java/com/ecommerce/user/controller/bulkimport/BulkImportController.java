@@ -0,0 +1,93 @@
+package com.ecommerce.user.controller.bulkimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.user.constant.ImportFormat;
+import com.ecommerce.user.controller.bulkimport.dto.ImportSummary;
+import com.ecommerce.user.exception.InvalidImportFormatException;
+import com.ecommerce.user.framework.response.GlobalResponse;
+import com.ecommerce.user.service.bulkimport.BulkImportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for the 'Bulk Import' feature (admin only, see SecurityConfig).
+ *
+ * Both directions are streamed: the body is read line by line and the response
+ * is NDJSON with one ImportRowFailure per rejected row, written as soon as it
+ * is known, followed by a final GlobalResponse carrying the ImportSummary.
+ * A response without that last line means the import was cut short.
+ */
+@Tag(name = "User Bulk Import", description = "Admin User Bulk Import API")
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Bulk import users", description = "Creates users from an NDJSON (application/x-ndjson) or CSV (text/csv) body and assigns BUYER and SELLER roles. Requires ROLE_PLATFORM_ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "NDJSON stream: one ImportRowFailure per rejected row, then the summary", content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "400", description = "Unsupported content type or CSV header", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Caller is not a platform admin")
+    })
+    @PostMapping("/import")
+    public void importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        ImportFormat format = resolveFormat(contentType);
+
+        response.setContentType("application/x-ndjson");
+        OutputStream out = response.getOutputStream();
+        // Many values go to one stream, so the writer must not close it after each
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        ImportSummary summary = bulkImportService.importUsers(body, format, failure -> {
+            try {
+                writer.writeValue(out, failure);
+                out.write(NEWLINE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Client went away during the import", ex);
+            }
+        });
+
+        writer.writeValue(out, GlobalResponse.success(summary));
+        out.write(NEWLINE);
+    }
+
+    private static ImportFormat resolveFormat(String contentType) {
+        try {
+            return ImportFormat.fromMediaType(MediaType.parseMediaType(contentType))
+                    .orElseThrow(() -> new InvalidImportFormatException(
+                            "Unsupported content type, use application/x-ndjson or text/csv: " + contentType));
+        } catch (InvalidMediaTypeException ex) {
+            throw new InvalidImportFormatException("Invalid content type: " + contentType);
+        }
+    }
+}
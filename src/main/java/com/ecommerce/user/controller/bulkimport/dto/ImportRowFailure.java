@@ -0,0 +1,13 @@
+package com.ecommerce.user.controller.bulkimport.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One rejected row of a bulk import (streamed as it happens).
+ */
+@Schema(description = "Bulk Import Row Failure DTO")
+public record ImportRowFailure(
+        @Schema(description = "1-based line number in the request body", example = "42") long line,
+        @Schema(description = "Email of the row, if it could be read", example = "test.user@example.com") String email,
+        @Schema(description = "Why the row was skipped", example = "Email already exists") String error) {
+}
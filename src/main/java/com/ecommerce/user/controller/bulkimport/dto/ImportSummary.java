@@ -0,0 +1,13 @@
+package com.ecommerce.user.controller.bulkimport.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Totals of a bulk import; always the last line of the response.
+ */
+@Schema(description = "Bulk Import Summary DTO")
+public record ImportSummary(
+        @Schema(description = "Data rows read (header and blank lines excluded)", example = "1000") long processed,
+        @Schema(description = "Users created", example = "998") long imported,
+        @Schema(description = "Rows skipped, each reported as an ImportRowFailure line", example = "2") long failed) {
+}
@@ -1,33 +1,107 @@
 package com.ecommerce.user.controller.jwks;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ecommerce.user.config.JwtProperties;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
 import com.nimbusds.jose.jwk.JWKSet;
 
-import lombok.RequiredArgsConstructor;
-
 /**
- * Exposes the RSA public key in OIDC-compliant JWKS format
+ * Exposes the public signing keys (next, active, retiring) in OIDC-compliant JWKS format
  * for API Gateway and other microservices to fetch.
+ *
+ * The JSON body and its strong ETag are computed once per key set, and served
+ * with 'Cache-Control: public, max-age' so consumers can cache and revalidate
+ * cheaply (304 on a matching If-None-Match).
  */
 @RestController
-@RequiredArgsConstructor
 public class JwkSetRestController {
 
-    // Inject the JWKSet Bean we created in JwtConfig
-    private final JWKSet jwkSet;
+    // Inject the SigningKeyManager Bean we created in JwtConfig
+    private final SigningKeyManager signingKeyManager;
+    private final CacheControl cacheControl;
+    private volatile JwksDocument document;
+
+    public JwkSetRestController(SigningKeyManager signingKeyManager, JwtProperties jwtProperties) {
+        this.signingKeyManager = signingKeyManager;
+        this.cacheControl = CacheControl.maxAge(jwtProperties.jwksMaxAge()).cachePublic();
+    }
 
     /**
      * This is the endpoint that API Gateway will call.
      * SecurityConfig has set this path to permitAll.
      */
-    @GetMapping("/.well-known/jwks.json")
-    public Map<String, Object> jwks() {
-        // .toJSONObject() will automatically only include the public key,
-        // and will never leak the private key.
-        return this.jwkSet.toJSONObject();
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwksDocument current = currentDocument();
+        if (current.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(current.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(current.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(current.body());
+    }
+
+    /**
+     * Returns the serialized key set, recomputing it only when the key set changes.
+     */
+    private JwksDocument currentDocument() {
+        JWKSet keys = signingKeyManager.getPublicJwkSet();
+        JwksDocument current = this.document;
+        if (current == null || current.source() != keys) {
+            current = JwksDocument.of(keys);
+            this.document = current;
+        }
+        return current;
+    }
+
+    private record JwksDocument(JWKSet source, byte[] body, String etag) {
+
+        static JwksDocument of(JWKSet jwkSet) {
+            // The manager only hands out the public key set; .toString() also
+            // only includes public keys, so the private keys never leak.
+            byte[] body = jwkSet.toString().getBytes(StandardCharsets.UTF_8);
+            return new JwksDocument(jwkSet, body, "\"" + sha256(body) + "\"");
+        }
+
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String sha256(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
     }
 }
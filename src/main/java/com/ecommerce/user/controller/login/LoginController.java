@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.ecommerce.user.controller.login.dto.LoginRequest;
 import com.ecommerce.user.controller.login.dto.LoginResponse;
+import com.ecommerce.user.controller.login.dto.RefreshTokenRequest;
 import com.ecommerce.user.framework.response.GlobalResponse;
 import com.ecommerce.user.service.login.LoginService;
 
@@ -20,7 +21,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 /**
- * Provides the custom /api/v1/users/login endpoint.
+ * Provides the custom /api/v1/users/login and /api/v1/users/token/refresh endpoints.
  */
 @Tag(name = "User Authentication", description = "User Login & Registration API")
 @RestController
@@ -33,7 +34,7 @@ public class LoginController {
     /**
      * Custom endpoint for user login.
      */
-    @Operation(summary = "User Login", description = "Authenticates a user with email/password and returns a JWT.")
+    @Operation(summary = "User Login", description = "Authenticates a user with email/password and returns a JWT and a refresh token.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login Successful", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class))),
             @ApiResponse(responseCode = "401", description = "Authentication Failed (e.g., Bad Credentials)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class)))
@@ -43,4 +44,18 @@ public class LoginController {
             @Valid @RequestBody LoginRequest request) {
         return GlobalResponse.success(loginService.login(request));
     }
+
+    /**
+     * Renews the access token with a refresh token instead of the password.
+     */
+    @Operation(summary = "Refresh Access Token", description = "Exchanges a refresh token for a new JWT and a new refresh token. Each refresh token works once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Refresh Successful", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token unknown, expired, revoked or already used", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class)))
+    })
+    @PostMapping("/token/refresh")
+    public GlobalResponse<LoginResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request) {
+        return GlobalResponse.success(loginService.refresh(request));
+    }
 }
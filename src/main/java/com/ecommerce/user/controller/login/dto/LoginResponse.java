@@ -5,8 +5,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Schema(description = "User Login Success Response DTO (JWT)")
 public record LoginResponse(
         @Schema(description = "JWT Access Token", example = "eyJh...") String accessToken,
-        @Schema(description = "Token Type", example = "Bearer") String tokenType) {
-    public LoginResponse(String accessToken) {
-        this(accessToken, "Bearer");
+        @Schema(description = "Token Type", example = "Bearer") String tokenType,
+        @Schema(description = "Opaque single-use Refresh Token", example = "q3J8...") String refreshToken) {
+    public LoginResponse(String accessToken, String refreshToken) {
+        this(accessToken, "Bearer", refreshToken);
     }
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.user.controller.login.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Access Token Refresh Request DTO")
+public record RefreshTokenRequest(
+        @Schema(description = "Refresh Token from the last login or refresh", example = "q3J8...") @NotBlank String refreshToken) {
+}
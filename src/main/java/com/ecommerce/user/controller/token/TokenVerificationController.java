@@ -0,0 +1,47 @@
+package com.ecommerce.user.controller.token;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.user.controller.token.dto.TokenVerificationRequest;
+import com.ecommerce.user.controller.token.dto.TokenVerificationResult;
+import com.ecommerce.user.framework.response.GlobalResponse;
+import com.ecommerce.user.service.token.TokenVerificationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for the 'Token Verification' feature, for internal services that
+ * cannot verify our JWTs themselves. Not meant to be routed by the gateway.
+ * An invalid token is a per-token result, not an HTTP error.
+ */
+@Tag(name = "Token Verification", description = "Internal Token Verification API")
+@RestController
+@RequestMapping("/api/v1/tokens")
+@RequiredArgsConstructor
+public class TokenVerificationController {
+
+    private final TokenVerificationService tokenVerificationService;
+
+    @Operation(summary = "Verify tokens", description = "Verifies up to 100 access tokens and returns, in request order, the claims or the rejection reason of each.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens verified (see each result)", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Empty batch, blank token or more than 100 tokens", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalResponse.class)))
+    })
+    @PostMapping("/verify")
+    public GlobalResponse<List<TokenVerificationResult>> verifyTokens(
+            @Valid @RequestBody TokenVerificationRequest request) {
+        return GlobalResponse.success(tokenVerificationService.verify(request.tokens()));
+    }
+}
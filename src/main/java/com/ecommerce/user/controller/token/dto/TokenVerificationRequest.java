@@ -0,0 +1,13 @@
+package com.ecommerce.user.controller.token.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Batch Token Verification Request DTO")
+public record TokenVerificationRequest(
+        @Schema(description = "Access tokens to verify (at most 100)", example = "[\"eyJh...\"]") @NotEmpty @Size(max = 100) List<@NotBlank String> tokens) {
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.user.controller.token.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Verification outcome of one token: its claims, or why it was rejected.
+ */
+@Schema(description = "Token Verification Result DTO")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenVerificationResult(
+        @Schema(description = "Whether the token is authentic and not expired", example = "true") boolean valid,
+        @Schema(description = "Decoded claims (valid tokens only)") Map<String, Object> claims,
+        @Schema(description = "Rejection reason (invalid tokens only)", example = "Invalid signature") String error) {
+
+    public static TokenVerificationResult valid(Map<String, Object> claims) {
+        return new TokenVerificationResult(true, claims, null);
+    }
+
+    public static TokenVerificationResult invalid(String error) {
+        return new TokenVerificationResult(false, null, error);
+    }
+}
@@ -1,11 +1,38 @@
 package com.ecommerce.user.exception;
 
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
 /**
  * Custom exception for HTTP 409 Conflict.
  * Thrown when attempting to register an email that already exists.
+ * Without a stack trace: it is an expected outcome, and the caller logs the email.
  */
 public class EmailAlreadyExistsException extends RuntimeException {
-    public EmailAlreadyExistsException(String email) {
-        super("Email already exists: " + email);
+
+    /**
+     * Unique constraint on users.email (see 001-create-user-service-tables.xml).
+     */
+    public static final String UNIQUE_CONSTRAINT = "idx_email_unique";
+
+    public static final String MESSAGE = "Email already exists.";
+
+    public EmailAlreadyExistsException() {
+        super(MESSAGE, null, false, false);
+    }
+
+    /**
+     * Tells whether an insert failed on the users.email unique constraint.
+     * Drivers report the name differently (MySQL verbatim, H2 upper-cased
+     * with a suffix), so this is a case-insensitive contains.
+     */
+    public static boolean isCausedBy(DataIntegrityViolationException ex) {
+        String detail = ex.getCause() instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                ? cve.getConstraintName()
+                : NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        return detail != null && detail.toLowerCase(Locale.ROOT).contains(UNIQUE_CONSTRAINT);
     }
 }
@@ -0,0 +1,13 @@
+package com.ecommerce.user.exception;
+
+/**
+ * Custom exception for HTTP 503 Service Unavailable.
+ * Thrown when the password hashing executor is saturated and cannot accept
+ * (or finish in time) another BCrypt operation.
+ * Without a stack trace: it is thrown most when the service is busiest.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException() {
+        super("Password hashing capacity exceeded", null, false, false);
+    }
+}
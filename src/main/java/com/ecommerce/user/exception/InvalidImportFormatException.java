@@ -0,0 +1,11 @@
+package com.ecommerce.user.exception;
+
+/**
+ * Custom exception for HTTP 400 Bad Request.
+ * Thrown when a bulk import body has an unsupported content type or an unusable CSV header.
+ */
+public class InvalidImportFormatException extends RuntimeException {
+    public InvalidImportFormatException(String message) {
+        super(message);
+    }
+}
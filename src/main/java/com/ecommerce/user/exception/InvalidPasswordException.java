@@ -0,0 +1,23 @@
+package com.ecommerce.user.exception;
+
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Custom exception for HTTP 401 Unauthorized.
+ * Thrown by PasswordAuthenticationProvider when the password does not match.
+ * Constant message and no stack trace, like UserNotFoundException.
+ */
+public class InvalidPasswordException extends BadCredentialsException {
+
+    public InvalidPasswordException() {
+        super("Bad credentials");
+    }
+
+    /**
+     * AuthenticationException has no constructor to disable the stack trace.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.user.exception;
+
+/**
+ * Custom exception for HTTP 401 Unauthorized.
+ * Thrown when a refresh token is unknown, expired, revoked or already used.
+ * Without a stack trace, like the login failures.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message, null, false, false);
+    }
+}
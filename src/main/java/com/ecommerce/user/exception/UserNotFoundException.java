@@ -0,0 +1,23 @@
+package com.ecommerce.user.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Custom exception for HTTP 401 Unauthorized.
+ * Thrown by UserDetailsServiceImpl for an unknown email. It has a constant
+ * message and no stack trace: under credential stuffing most logins fail here.
+ */
+public class UserNotFoundException extends UsernameNotFoundException {
+
+    public UserNotFoundException() {
+        super("User not found");
+    }
+
+    /**
+     * AuthenticationException has no constructor to disable the stack trace.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.user.framework.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks an @Id whose value comes from the application's IdAllocator bean.
+ */
+@IdGeneratorType(IdAllocatorGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface AllocatedId {
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.user.framework.id;
+
+/**
+ * Hands out unique user ids without a database round-trip per id, so inserts
+ * can be batched (unlike IDENTITY, which needs each row's generated key).
+ * Implementations are thread-safe and safe across replicas.
+ */
+public interface IdAllocator {
+
+    /**
+     * @param ownerEmail email of the user owning the row; allocators that encode the
+     *                   owner's shard in the id (ShardedIdAllocator) need it, the others
+     *                   ignore it (null when the row has no owning user)
+     */
+    long nextId(String ownerEmail);
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.user.framework.id;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import com.ecommerce.user.framework.shard.ShardKeyed;
+
+/**
+ * Hibernate side of @AllocatedId: asks the IdAllocator before the INSERT, so
+ * Hibernate can batch user inserts. Hibernate creates this class itself; the
+ * Spring-managed allocator reaches it through the Hibernate setting
+ * SETTING (see IdAllocationConfig).
+ */
+public class IdAllocatorGenerator implements BeforeExecutionGenerator {
+
+    public static final String SETTING = "ecommerce.id-allocator";
+
+    private final IdAllocator idAllocator;
+
+    public IdAllocatorGenerator(AllocatedId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        Object allocator = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(SETTING);
+        if (!(allocator instanceof IdAllocator)) {
+            throw new IllegalStateException("Hibernate setting '" + SETTING + "' must hold the IdAllocator bean");
+        }
+        this.idAllocator = (IdAllocator) allocator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return idAllocator.nextId(owner instanceof ShardKeyed keyed ? keyed.shardKey() : null);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
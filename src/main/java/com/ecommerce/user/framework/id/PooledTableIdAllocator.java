@@ -0,0 +1,99 @@
+package com.ecommerce.user.framework.id;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reserves blocks of 'blockSize' ids from the id_allocations table (one row per
+ * segment), then hands them out from memory. Every replica reserves its own
+ * blocks, so ids are unique but only roughly ordered.
+ *
+ * The reservation runs on its own connection and commits immediately: it must
+ * not join (and hold the row lock for) the caller's transaction.
+ */
+@Slf4j
+public class PooledTableIdAllocator implements IdAllocator {
+
+    private static final String RESERVE =
+            "UPDATE id_allocations SET next_val = next_val + ? WHERE segment = ?";
+    private static final String READ =
+            "SELECT next_val FROM id_allocations WHERE segment = ?";
+
+    private final DataSource dataSource;
+    private final String segment;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long blockEnd; // exclusive
+
+    public PooledTableIdAllocator(DataSource dataSource, String segment, int blockSize) {
+        this.dataSource = dataSource;
+        this.segment = segment;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId(String ownerEmail) {
+        // A lock rather than synchronized: JDBC I/O under a monitor pins a virtual thread
+        lock.lock();
+        try {
+            if (next == blockEnd) {
+                blockEnd = reserveBlock();
+                next = blockEnd - blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves next_val forward by one block and returns the new value (the end of our block).
+     */
+    private long reserveBlock() {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long end = reserveBlock(connection);
+                connection.commit();
+                log.debug("Reserved {} ids for '{}' up to {}", blockSize, segment, end);
+                return end;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Failed to reserve ids for '" + segment + "'", ex);
+        }
+    }
+
+    private long reserveBlock(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(RESERVE)) {
+            update.setLong(1, blockSize);
+            update.setString(2, segment);
+            if (update.executeUpdate() != 1) {
+                throw new IllegalStateException("No id_allocations row for segment '" + segment + "'");
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(READ)) {
+            select.setString(1, segment);
+            try (ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.user.framework.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 53-bit ids: [41 bits ms since 2024-01-01][6 bits node][6 bits counter].
+ *
+ * 53 bits keep every id exact as a JavaScript number; that leaves 64 replicas
+ * and 64 ids per millisecond per replica, far above the signup rate. Ids grow
+ * with time, so inserts append to the primary key index. If the clock moves
+ * back, allocation waits for it to catch up rather than risk a duplicate.
+ */
+public class TimeOrderedIdAllocator implements IdAllocator {
+
+    public static final int MAX_NODE_ID = 63;
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 6;
+    static final int COUNTER_BITS = 6;
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    private long lastMillis = -1;
+    private long counter;
+
+    public TimeOrderedIdAllocator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdAllocator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized long nextId(String ownerEmail) {
+        long now = clock.getAsLong();
+        if (now < lastMillis) {
+            now = waitUntil(lastMillis); // Clock stepped back (e.g. NTP)
+        }
+        if (now == lastMillis) {
+            if (counter == MAX_COUNTER) {
+                now = waitUntil(lastMillis + 1); // Counter exhausted for this millisecond
+                counter = 0;
+            } else {
+                counter++;
+            }
+        } else {
+            counter = 0;
+        }
+        lastMillis = now;
+
+        long timestamp = now - EPOCH_MILLIS;
+        if (timestamp < 0 || timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Clock is outside the id range: " + Instant.ofEpochMilli(now));
+        }
+        return (timestamp << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+    }
+
+    private long waitUntil(long millis) {
+        long now = clock.getAsLong();
+        while (now < millis) {
+            Thread.onSpinWait();
+            now = clock.getAsLong();
+        }
+        return now;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps a DataSource so every statement execution is timed by StatementMetrics.
+ * Connections and statements are JDK proxies; only the execute* methods do
+ * extra work (two nanoTime calls and one record).
+ *
+ * unwrap()/isWrapperFor() still reach the pool, so Hikari metrics keep working.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final Supplier<StatementMetrics> statementMetrics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, Supplier<StatementMetrics> statementMetrics) {
+        super(targetDataSource);
+        this.statementMetrics = statementMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connectionProxy(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connectionProxy(super.getConnection(username, password));
+    }
+
+    private Connection connectionProxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(method, connection, args);
+                    if (result instanceof CallableStatement statement) {
+                        return statementProxy(CallableStatement.class, statement, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return statementProxy(PreparedStatement.class, statement, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return statementProxy(Statement.class, statement, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Object statementProxy(Class<? extends Statement> type, Statement statement, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(method, statement, args);
+                    }
+                    // Plain statements carry their SQL per call (execute(sql), executeQuery(sql), ...)
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    long start = System.nanoTime();
+                    boolean failed = true;
+                    try {
+                        Object result = invoke(method, statement, args);
+                        failed = false;
+                        return result;
+                    } finally {
+                        statementMetrics.get().record(sql, System.nanoTime() - start, failed);
+                    }
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the read-only transactions started inside {@link #force} to the
+ * primary instead of a replica (read-your-writes). Only takes effect for
+ * connections obtained inside the call: a transaction that is already running
+ * keeps its connection.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isForced() {
+        return FORCED.get() != null;
+    }
+
+    public static <T> T force(Supplier<T> read) {
+        if (isForced()) {
+            return read.get();
+        }
+        FORCED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            FORCED.remove();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends connections of read-only transactions to the next replica (round robin)
+ * whose lag is within the tolerance, and all other connections to the primary.
+ * Reads also go to the primary when PrimaryReads is forced or no replica qualifies.
+ *
+ * The decision uses the transaction's read-only flag, so it must be made at the
+ * first statement rather than when the transaction begins: wrap this in a
+ * LazyConnectionDataSourceProxy. (Hibernate, with Spring Boot's delayed
+ * connection acquisition, never marks the connection itself read-only.)
+ *
+ * Replicas start out of rotation until the first lag check (see {@link #checkReplicaLag}).
+ * The lag query must return the lag in seconds, either as a
+ * 'Seconds_Behind_Source' column (MySQL's SHOW REPLICA STATUS) or as the first
+ * column; NULL (replication stopped) or an error takes the replica out.
+ *
+ * Exported metrics:
+ * - db.replica.lag (gauge, seconds, tagged replica; -1 when unknown)
+ * - db.replica.in_rotation (gauge, 1 or 0, tagged replica)
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> inRotation = List.of();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+            String lagQuery, MeterRegistry meterRegistry) {
+        this.replicas = Map.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        for (String replica : this.replicas.keySet()) {
+            lagSeconds.put(replica, -1L);
+            Gauge.builder("db.replica.lag", lagSeconds, lags -> lags.get(replica))
+                    .description("Replication lag of the replica, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.in_rotation", this, routing -> routing.inRotation.contains(replica) ? 1 : 0)
+                    .description("Whether read-only transactions are sent to the replica")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidates = inRotation;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || candidates.isEmpty()
+                || PrimaryReads.isForced()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measures the lag of every replica and updates the rotation. Called on a schedule.
+     */
+    public void checkReplicaLag() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((replica, dataSource) -> {
+            long lag = measureLag(replica, dataSource);
+            lagSeconds.put(replica, lag);
+            boolean wasInRotation = inRotation.contains(replica);
+            if (lag >= 0 && lag <= maxLagSeconds) {
+                healthy.add(replica);
+                if (!wasInRotation) {
+                    log.info("Replica {} in rotation (lag: {} s)", replica, lag);
+                }
+            } else if (wasInRotation) {
+                log.warn("Replica {} out of rotation (lag: {} s, tolerated: {} s)", replica, lag, maxLagSeconds);
+            }
+        });
+        inRotation = List.copyOf(healthy);
+    }
+
+    private long measureLag(String replica, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return -1;
+            }
+            long lag = hasColumn(resultSet, MYSQL_LAG_COLUMN)
+                    ? resultSet.getLong(MYSQL_LAG_COLUMN)
+                    : resultSet.getLong(1);
+            return resultSet.wasNull() ? -1 : lag;
+        } catch (SQLException ex) {
+            log.warn("Lag check of replica {} failed: {}", replica, ex.getMessage());
+            return -1;
+        }
+    }
+
+    private static boolean hasColumn(ResultSet resultSet, String label) throws SQLException {
+        for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
+            if (label.equalsIgnoreCase(resultSet.getMetaData().getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers recently written keys (e.g. the email of a new account) for the
+ * replica lag window, so reads of those keys go to the primary. Per instance:
+ * a read on another instance relies on the lag staying within the tolerance.
+ * Keys are compared case-insensitively, like the email column.
+ */
+public class ReadYourWrites {
+
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWrites(Duration window, long maximumSize) {
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Call after the write has committed.
+     */
+    public void written(String key) {
+        recentWrites.put(normalize(key), Boolean.TRUE);
+    }
+
+    public boolean isRecent(String key) {
+        return recentWrites.getIfPresent(normalize(key)) != null;
+    }
+
+    /**
+     * Runs the read on the primary if the key was written recently, otherwise as routed.
+     */
+    public <T> T read(String key, Supplier<T> read) {
+        return isRecent(key) ? PrimaryReads.force(read) : read.get();
+    }
+
+    // Same normalization as AuthUserCache: a login may use other casing than the registration
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
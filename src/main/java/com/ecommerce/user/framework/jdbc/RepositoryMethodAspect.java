@@ -0,0 +1,44 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records which repository method is running (see RepositoryMethodContext):
+ * Spring Data repositories and our own JDBC repositories alike.
+ */
+@Aspect
+public class RepositoryMethodAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.ecommerce.user.repository";
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository) || within(com.ecommerce.user.repository..*)")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+        String previous = RepositoryMethodContext.enter(method);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RepositoryMethodContext.restore(previous);
+        }
+    }
+
+    // "UserRepository" rather than "$Proxy123" or "SimpleJpaRepository" for Spring Data repositories
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.user.framework.jdbc;
+
+/**
+ * The repository method the current thread is executing, if any, so SQL
+ * statements can be attributed to it ("UserRepository.findAuthRowsByEmail").
+ * Set by RepositoryMethodAspect; nested calls restore the outer method.
+ */
+public final class RepositoryMethodContext {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryMethodContext() {
+    }
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    /**
+     * @return the previous method, to hand back to {@link #restore}
+     */
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+
+import com.ecommerce.user.config.StatementInspectionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times SQL statements per repository method and statement shape, and logs
+ * the slow ones (always) plus a random sample of the rest, with the trace id.
+ * Replaces show-sql, which formats and prints every statement.
+ *
+ * Slow and sampled lines carry the shape id next to the SQL, so a shape seen
+ * on a dashboard can be looked up in the logs (every new shape is also logged
+ * once at DEBUG). Statements flushed at commit are attributed to "none".
+ *
+ * Exported metrics: db.statement (timer) tagged repository, shape, operation, outcome.
+ */
+@Slf4j
+public class StatementMetrics {
+
+    private static final String METRIC_NAME = "db.statement";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final long maximumShapes;
+    private final Cache<String, StatementShape> shapes; // raw SQL -> shape
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public StatementMetrics(StatementInspectionProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.sampleRate = properties.sampleRate();
+        this.maximumShapes = properties.maximumShapes();
+        this.shapes = Caffeine.newBuilder().maximumSize(properties.maximumShapes()).build();
+    }
+
+    /**
+     * Records one execution (a batch counts as one).
+     */
+    public void record(String sql, long elapsedNanos, boolean failed) {
+        StatementShape shape = shapeOf(sql);
+        String repositoryMethod = RepositoryMethodContext.current();
+        timers.computeIfAbsent(new TimerKey(repositoryMethod, shape, failed), this::newTimer)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow statement: {} ms, repository: {}, shape: {}, traceId: {}, sql: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), repositoryMethod, shape.id(), traceId(), shape.sql());
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled statement: {} us, repository: {}, shape: {}, traceId: {}, sql: {}",
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos), repositoryMethod, shape.id(), traceId(), shape.sql());
+        }
+    }
+
+    private StatementShape shapeOf(String sql) {
+        if (sql == null) {
+            return StatementShape.OTHER;
+        }
+        StatementShape shape = shapes.getIfPresent(sql);
+        if (shape != null) {
+            return shape;
+        }
+        // Bound the number of distinct tags, also against SQL built from user input
+        if (shapes.estimatedSize() >= maximumShapes) {
+            return StatementShape.OTHER;
+        }
+        StatementShape created = StatementShape.of(sql);
+        shapes.put(sql, created);
+        log.debug("New statement shape {}: {}", created.id(), created.sql());
+        return created;
+    }
+
+    private Timer newTimer(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("SQL statement execution time (excluding result set reads)")
+                .tag("repository", key.repositoryMethod())
+                .tag("shape", key.shape().id())
+                .tag("operation", key.shape().operation())
+                .tag("outcome", key.failed() ? "error" : "success")
+                .register(meterRegistry);
+    }
+
+    private static String traceId() {
+        String traceId = MDC.get("traceId");
+        return traceId != null ? traceId : "none";
+    }
+
+    private record TimerKey(String repositoryMethod, StatementShape shape, boolean failed) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.user.framework.jdbc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * A SQL statement with literals and IN-list lengths erased, so every
+ * execution of "the same query" shares one metric.
+ *
+ * @param id        short stable id of the normalized SQL (metric tag)
+ * @param operation first keyword: select, insert, update, delete, ... (metric tag)
+ * @param sql       the normalized SQL (logged, never a tag)
+ */
+public record StatementShape(String id, String operation, String sql) {
+
+    public static final StatementShape OTHER = new StatementShape("other", "other", "(not tracked)");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static StatementShape of(String rawSql) {
+        String sql = WHITESPACE.matcher(rawSql).replaceAll(" ").trim();
+        sql = STRING_LITERAL.matcher(sql).replaceAll("?");
+        sql = NUMBER_LITERAL.matcher(sql).replaceAll("?");
+        sql = IN_LIST.matcher(sql).replaceAll("IN (?)");
+
+        int space = sql.indexOf(' ');
+        String operation = (space > 0 ? sql.substring(0, space) : sql).toLowerCase(Locale.ROOT);
+
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return new StatementShape(String.format("%08x", crc.getValue()), operation, sql);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.user.framework.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+
+/**
+ * Fast path for issuing login access tokens.
+ *
+ * Produces the same JWS as SigningKeyJwtEncoder (same protected header, same
+ * claims: iss, sub, exp, iat, authorities, userId) but skips the generic
+ * JwtClaimsSet/JWTClaimsSet maps and JSON tree:
+ * 1. The signer and the Base64URL protected header are resolved once per active key.
+ * 2. The claims JSON is written directly into a single StringBuilder.
+ * 3. The signing input is signed as bytes and the token assembled once.
+ */
+public class AccessTokenIssuer {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final Supplier<JWK> activeKey;
+    private final String claimsPrefix;
+    private final long expirationSec;
+    private volatile PreparedSigningKey preparedKey;
+
+    /**
+     * @param activeKey     supplies the key new tokens must be signed with
+     * @param issuerUrl     the 'iss' claim
+     * @param expirationSec token lifetime, used for the 'exp' claim
+     */
+    public AccessTokenIssuer(Supplier<JWK> activeKey, String issuerUrl, long expirationSec) {
+        this.activeKey = activeKey;
+        this.claimsPrefix = "{\"iss\":\"" + escape(issuerUrl) + "\",\"sub\":\"";
+        this.expirationSec = expirationSec;
+    }
+
+    /**
+     * Issues a signed access token for the user.
+     */
+    public String issue(String userId, Collection<String> authorities) {
+        PreparedSigningKey key = preparedKey();
+        long now = Instant.now().getEpochSecond();
+
+        // 1. Claims JSON, written in one pass
+        String escapedUserId = escape(userId);
+        StringBuilder claims = new StringBuilder(claimsPrefix.length() + 128 + authorities.size() * 24);
+        claims.append(claimsPrefix).append(escapedUserId)
+                .append("\",\"exp\":").append(now + expirationSec)
+                .append(",\"iat\":").append(now)
+                .append(",\"authorities\":[");
+        boolean first = true;
+        for (String authority : authorities) {
+            if (!first) {
+                claims.append(',');
+            }
+            claims.append('"').append(escape(authority)).append('"');
+            first = false;
+        }
+        claims.append("],\"userId\":\"").append(escapedUserId).append("\"}");
+
+        // 2. Signing input: BASE64URL(header) '.' BASE64URL(claims)
+        byte[] payload = BASE64URL.encode(claims.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signingInput = new byte[key.headerPrefix().length + payload.length];
+        System.arraycopy(key.headerPrefix(), 0, signingInput, 0, key.headerPrefix().length);
+        System.arraycopy(payload, 0, signingInput, key.headerPrefix().length, payload.length);
+
+        // 3. Sign and assemble
+        try {
+            String signature = key.signer().sign(key.header(), signingInput).toString();
+            return new String(signingInput, StandardCharsets.US_ASCII) + '.' + signature;
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("Failed to sign the JWT: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the prepared signer for the active key, rebuilding it only when
+     * the active key changes.
+     */
+    private PreparedSigningKey preparedKey() {
+        PreparedSigningKey prepared = PreparedSigningKey.forKey(this.preparedKey, activeKey.get());
+        this.preparedKey = prepared;
+        return prepared;
+    }
+
+    /**
+     * Minimal JSON string escaping (quotes, backslash, control characters).
+     */
+    private static String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+}
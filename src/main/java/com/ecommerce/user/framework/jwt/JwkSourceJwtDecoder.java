@@ -0,0 +1,149 @@
+package com.ecommerce.user.framework.jwt;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * A JwtDecoder that verifies JWS tokens against a JWKSource by 'kid'.
+ *
+ * Unlike NimbusJwtDecoder's JWSVerificationKeySelector, this supports OKP
+ * (Ed25519) keys. The key is looked up in the JWKSource on every decode, so a
+ * key that leaves the set (retired and removed, or revoked) stops verifying at
+ * once; verifiers are cached per JWK instance and dropped with it.
+ */
+public class JwkSourceJwtDecoder implements JwtDecoder {
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final Set<JWSAlgorithm> allowedAlgorithms;
+    private final Cache<JWK, JWSVerifier> verifiers = Caffeine.newBuilder().weakKeys().build(); // By identity
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter
+            .withDefaults(Map.of());
+    private final OAuth2TokenValidator<Jwt> validator = JwtValidators.createDefault();
+
+    public JwkSourceJwtDecoder(JWKSource<SecurityContext> jwkSource, Set<JWSAlgorithm> allowedAlgorithms) {
+        this.jwkSource = jwkSource;
+        this.allowedAlgorithms = Set.copyOf(allowedAlgorithms);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        SignedJWT signedJwt = parse(token);
+        JWSHeader header = signedJwt.getHeader();
+
+        // 1. Verify the signature with the key named by 'kid'
+        if (!allowedAlgorithms.contains(header.getAlgorithm())) {
+            throw new BadJwtException("Unsupported algorithm: " + header.getAlgorithm());
+        }
+        try {
+            if (!signedJwt.verify(verifierFor(header))) {
+                throw new BadJwtException("Invalid signature");
+            }
+        } catch (JOSEException ex) {
+            throw new BadJwtException("Failed to verify the JWT signature: " + ex.getMessage(), ex);
+        }
+
+        // 2. Build the Spring Jwt and validate timestamps (exp, nbf)
+        Jwt jwt;
+        try {
+            Map<String, Object> claims = claimSetConverter.convert(signedJwt.getJWTClaimsSet().getClaims());
+            jwt = Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(header.toJSONObject()))
+                    .claims(c -> c.putAll(claims))
+                    .build();
+        } catch (ParseException | IllegalArgumentException ex) {
+            throw new BadJwtException("Malformed JWT claims: " + ex.getMessage(), ex);
+        }
+
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            Collection<String> descriptions = result.getErrors().stream()
+                    .map(error -> error.getDescription())
+                    .collect(Collectors.toList());
+            throw new JwtValidationException("Invalid JWT: " + String.join(", ", descriptions), result.getErrors());
+        }
+        return jwt;
+    }
+
+    private static SignedJWT parse(String token) {
+        try {
+            return SignedJWT.parse(token);
+        } catch (ParseException ex) {
+            throw new BadJwtException("Malformed JWT: " + ex.getMessage(), ex);
+        }
+    }
+
+    private JWSVerifier verifierFor(JWSHeader header) throws JOSEException {
+        String keyId = header.getKeyID();
+        if (keyId == null) {
+            throw new BadJwtException("Missing 'kid' header");
+        }
+        JWK key = selectKey(keyId);
+        JWSVerifier cached = verifiers.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        JWSVerifier verifier = createVerifier(key);
+        verifiers.put(key, verifier);
+        return verifier;
+    }
+
+    private JWK selectKey(String keyId) {
+        try {
+            List<JWK> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build()), null);
+            if (keys.isEmpty()) {
+                throw new BadJwtException("Unknown signing key: " + keyId);
+            }
+            return keys.get(0);
+        } catch (KeySourceException ex) {
+            throw new JwtException("Failed to look up signing key: " + keyId, ex);
+        }
+    }
+
+    private static JWSVerifier createVerifier(JWK key) throws JOSEException {
+        if (key instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey);
+        }
+        if (key instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey);
+        }
+        if (key instanceof OctetKeyPair octetKeyPair) {
+            return new Ed25519Verifier(octetKeyPair.toPublicJWK());
+        }
+        throw new BadJwtException("Unsupported key type: " + key.getKeyType());
+    }
+}
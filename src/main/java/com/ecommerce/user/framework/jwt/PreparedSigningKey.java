@@ -0,0 +1,37 @@
+package com.ecommerce.user.framework.jwt;
+
+import java.nio.charset.StandardCharsets;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.factories.DefaultJWSSignerFactory;
+import com.nimbusds.jose.jwk.JWK;
+
+/**
+ * A signing key with everything derived from it resolved once:
+ * the JWS signer, the protected header {"kid":"...","alg":"..."} and its
+ * Base64URL form followed by '.' (the first part of every signing input).
+ */
+record PreparedSigningKey(JWK key, JWSAlgorithm algorithm, JWSHeader header, byte[] headerPrefix, JWSSigner signer) {
+
+    static PreparedSigningKey of(JWK key) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(key.getAlgorithm().getName());
+        JWSHeader header = new JWSHeader.Builder(algorithm).keyID(key.getKeyID()).build();
+        try {
+            JWSSigner signer = new DefaultJWSSignerFactory().createJWSSigner(key, algorithm);
+            byte[] headerPrefix = (header.toBase64URL().toString() + '.').getBytes(StandardCharsets.US_ASCII);
+            return new PreparedSigningKey(key, algorithm, header, headerPrefix, signer);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unsupported signing key: " + key.getKeyType(), ex);
+        }
+    }
+
+    /**
+     * Returns 'current' if it was prepared for 'key', otherwise prepares 'key'.
+     */
+    static PreparedSigningKey forKey(PreparedSigningKey current, JWK key) {
+        return current != null && current.key() == key ? current : of(key);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.user.framework.jwt;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * A JwtEncoder that always signs with the currently active JWK (RSA, EC or OKP/Ed25519).
+ *
+ * NimbusJwtEncoder selects the key from the JWKSource via JWKMatcher.forJWSHeader,
+ * which has no EdDSA support; since we only ever sign with the active key,
+ * the signer is created once per key and reused.
+ */
+public class SigningKeyJwtEncoder implements JwtEncoder {
+
+    private final Supplier<JWK> activeKey;
+    private volatile PreparedSigningKey preparedKey;
+
+    public SigningKeyJwtEncoder(Supplier<JWK> activeKey) {
+        this.activeKey = activeKey;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        PreparedSigningKey key = PreparedSigningKey.forKey(this.preparedKey, activeKey.get());
+        this.preparedKey = key;
+
+        JwsHeader jwsHeader = parameters.getJwsHeader();
+        if (jwsHeader != null && !key.algorithm().getName().equals(jwsHeader.getAlgorithm().getName())) {
+            throw new JwtEncodingException("Signing key does not support algorithm: " + jwsHeader.getAlgorithm());
+        }
+
+        SignedJWT signedJwt = new SignedJWT(key.header(), convert(parameters.getClaims()));
+        try {
+            signedJwt.sign(key.signer());
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("Failed to sign the JWT: " + ex.getMessage(), ex);
+        }
+
+        return Jwt.withTokenValue(signedJwt.serialize())
+                .headers(headers -> headers.putAll(key.header().toJSONObject()))
+                .claims(claims -> claims.putAll(parameters.getClaims().getClaims()))
+                .build();
+    }
+
+    /**
+     * Same conversion as NimbusJwtEncoder: Instant -> Date, URL -> String.
+     */
+    private static JWTClaimsSet convert(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : claims.getClaims().entrySet()) {
+            Object value = claim.getValue();
+            if (value instanceof Instant instant) {
+                value = Date.from(instant);
+            } else if (value instanceof URL url) {
+                value = url.toExternalForm();
+            }
+            builder.claim(claim.getKey(), value);
+        }
+        return builder.build();
+    }
+}
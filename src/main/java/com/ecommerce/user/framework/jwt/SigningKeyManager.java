@@ -0,0 +1,281 @@
+package com.ecommerce.user.framework.jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import com.ecommerce.user.config.SigningKeyProperties;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the JWT signing keys: loads them from the keystore (a JWK set file),
+ * picks the active signing key, and optionally rotates keys on a schedule.
+ *
+ * Key lifecycle, encoded with standard JWK time members:
+ * - next:     'nbf' in the future. Published in JWKS, not yet signing.
+ * - active:   the key with the latest 'nbf' that has passed and no 'exp'. Signs.
+ * - retiring: superseded key with 'exp' = retirement + token lifetime. Published
+ *             (so already issued tokens still verify), then removed after 'exp'.
+ *
+ * All instances reload the keystore when it changes; only instances with
+ * 'ecommerce.jwt.keys.rotation' enabled generate, retire and remove keys.
+ */
+@Slf4j
+public class SigningKeyManager implements JWKSource<SecurityContext> {
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final SigningKeyProperties properties;
+    private final JwtSigningAlgorithm algorithm;
+    private final Duration retention;
+    private final Clock clock;
+    private final Path keystore;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile SigningKeys keys;
+    private FileTime loadedModifiedTime;
+
+    /**
+     * @param algorithm     algorithm for newly generated keys
+     * @param tokenLifetime access token lifetime; retiring keys stay published this long
+     */
+    public SigningKeyManager(SigningKeyProperties properties, JwtSigningAlgorithm algorithm,
+            Duration tokenLifetime, Clock clock) {
+        this.properties = properties;
+        this.algorithm = algorithm;
+        this.retention = tokenLifetime.plus(CLOCK_SKEW);
+        this.clock = clock;
+        this.keystore = StringUtils.hasText(properties.keystorePath()) ? Path.of(properties.keystorePath()) : null;
+        initialize();
+    }
+
+    /**
+     * The key new tokens are signed with.
+     */
+    public JWK getActiveKey() {
+        return keys.active();
+    }
+
+    /**
+     * All published keys (next, active, retiring) without private parts.
+     * A new instance is returned only when the key set changes.
+     */
+    public JWKSet getPublicJwkSet() {
+        return keys.publicJwkSet();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(keys.jwkSet());
+    }
+
+    /**
+     * Reloads the keystore if it changed, rotates (if enabled) and re-evaluates
+     * which key is active.
+     */
+    @Scheduled(initialDelayString = "${ecommerce.jwt.keys.check-interval}",
+            fixedDelayString = "${ecommerce.jwt.keys.check-interval}")
+    public void refresh() {
+        if (keystore == null) {
+            return;
+        }
+        // A lock rather than synchronized: file I/O under a monitor pins a virtual thread
+        refreshLock.lock();
+        try {
+            reloadIfChanged();
+            if (properties.rotation()) {
+                rotate();
+            } else {
+                activate(keys.jwkSet());
+            }
+        } catch (RuntimeException | IOException ex) {
+            // Keep signing with the current keys; try again on the next tick
+            log.error("Signing key refresh failed: {}", ex.getMessage(), ex);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void initialize() {
+        if (keystore == null) {
+            log.warn("No JWT keystore configured; generating an in-memory {} key (dev-only).", algorithm);
+            keys = SigningKeys.of(new JWKSet(generateKey(clock.instant())), clock.instant());
+            return;
+        }
+        if (properties.prePublishLead().compareTo(properties.checkInterval()) <= 0) {
+            log.warn("pre-publish-lead ({}) should be well above check-interval ({}) plus the JWKS cache max-age.",
+                    properties.prePublishLead(), properties.checkInterval());
+        }
+        try {
+            if (Files.exists(keystore)) {
+                load();
+            } else {
+                log.info("JWT keystore {} not found; creating it with a new {} key.", keystore, algorithm);
+                write(List.of(generateKey(clock.instant())));
+                load();
+            }
+            if (properties.rotation()) {
+                rotate();
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load JWT keystore " + keystore, ex);
+        }
+        log.info("Loaded {} JWT signing key(s) from {}. Active kid: {}",
+                keys.jwkSet().size(), keystore, keys.active().getKeyID());
+    }
+
+    private void reloadIfChanged() throws IOException {
+        if (!Files.getLastModifiedTime(keystore).equals(loadedModifiedTime)) {
+            load();
+            log.info("Reloaded JWT keystore {}. Active kid: {}", keystore, keys.active().getKeyID());
+        }
+    }
+
+    private void load() throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(keystore);
+        try {
+            activate(JWKSet.load(keystore.toFile()));
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JWK set in " + keystore + ": " + ex.getMessage(), ex);
+        }
+        loadedModifiedTime = modifiedTime;
+    }
+
+    private void activate(JWKSet jwkSet) {
+        SigningKeys current = this.keys;
+        SigningKeys updated = SigningKeys.of(jwkSet, clock.instant());
+        if (current != null && current.active() == updated.active() && current.jwkSet().equals(updated.jwkSet())) {
+            return; // Keep the same instances so caches keyed on them stay valid
+        }
+        this.keys = updated;
+    }
+
+    /**
+     * One rotation pass:
+     * 1. Drop retiring keys whose 'exp' has passed.
+     * 2. Retire keys superseded by the active key.
+     * 3. Pre-publish the next key 'pre-publish-lead' before the active key's period ends.
+     */
+    private void rotate() throws IOException {
+        Instant now = clock.instant();
+        JWK active = SigningKeys.of(keys.jwkSet(), now).active();
+        List<JWK> updated = new ArrayList<>();
+        boolean changed = false;
+
+        for (JWK key : keys.jwkSet().getKeys()) {
+            if (key.getExpirationTime() != null && !key.getExpirationTime().toInstant().isAfter(now)) {
+                log.info("Removing expired JWT signing key {}", key.getKeyID());
+                changed = true;
+                continue;
+            }
+            if (key != active && key.getExpirationTime() == null && !notBefore(key).isAfter(now)) {
+                log.info("Retiring JWT signing key {} (superseded by {})", key.getKeyID(), active.getKeyID());
+                key = withExpiration(key, now.plus(retention));
+                changed = true;
+            }
+            updated.add(key);
+        }
+
+        boolean nextPublished = updated.stream().anyMatch(key -> notBefore(key).isAfter(now));
+        Instant rotateAt = notBefore(active).plus(properties.rotationPeriod());
+        if (!nextPublished && !now.isBefore(rotateAt.minus(properties.prePublishLead()))) {
+            // Never sign with a key that has not been published for the full lead time
+            Instant activation = rotateAt.isBefore(now.plus(properties.prePublishLead()))
+                    ? now.plus(properties.prePublishLead())
+                    : rotateAt;
+            JWK next = generateKey(activation);
+            log.info("Pre-publishing JWT signing key {} (signs from {})", next.getKeyID(), activation);
+            updated.add(next);
+            changed = true;
+        }
+
+        if (changed) {
+            write(updated);
+            load();
+        } else {
+            activate(keys.jwkSet());
+        }
+    }
+
+    private JWK generateKey(Instant notBefore) {
+        try {
+            return algorithm.generateKey(UUID.randomUUID().toString(), notBefore);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Failed to generate " + algorithm + " key", ex);
+        }
+    }
+
+    /**
+     * Writes the private key set atomically (temp file + move), owner-only where supported.
+     */
+    private void write(List<JWK> keyList) throws IOException {
+        Path directory = keystore.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, keystore.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, new JWKSet(keyList).toString(false), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, keystore, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, keystore, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static JWK withExpiration(JWK key, Instant expiration) {
+        Map<String, Object> json = key.toJSONObject();
+        json.put("exp", expiration.getEpochSecond());
+        try {
+            return JWK.parse(json);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Failed to retire key " + key.getKeyID(), ex);
+        }
+    }
+
+    private static Instant notBefore(JWK key) {
+        return key.getNotBeforeTime() == null ? Instant.EPOCH : key.getNotBeforeTime().toInstant();
+    }
+
+    /**
+     * An immutable snapshot of the key set and the key that signs at 'now'.
+     */
+    private record SigningKeys(JWKSet jwkSet, JWK active, JWKSet publicJwkSet) {
+
+        static SigningKeys of(JWKSet jwkSet, Instant now) {
+            JWK active = jwkSet.getKeys().stream()
+                    .filter(JWK::isPrivate)
+                    .filter(key -> key.getExpirationTime() == null)
+                    .filter(key -> !notBefore(key).isAfter(now))
+                    .max(Comparator.comparing(SigningKeyManager::notBefore))
+                    .orElseThrow(() -> new IllegalStateException("No active JWT signing key in the key set"));
+            return new SigningKeys(jwkSet, active, jwkSet.toPublicJWKSet());
+        }
+    }
+}
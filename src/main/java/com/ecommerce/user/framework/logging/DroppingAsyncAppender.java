@@ -0,0 +1,33 @@
+package com.ecommerce.user.framework.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender that never blocks the logging thread: when the queue is full
+ * the event is dropped and counted. Configure with neverBlock=true and
+ * discardingThreshold=0 so that a full queue is the only reason to drop.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (getRemainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+        // Another thread may fill the last slot first; neverBlock then drops uncounted
+        super.append(event);
+    }
+
+    /**
+     * Events dropped since startup, exported by LogPipelineMetrics.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.user.framework.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers understood by the logback configuration (logback-spring.xml).
+ */
+public final class LogMarkers {
+
+    /**
+     * Events that repeat with every request of a kind (login success and
+     * failure, validation warnings). RepetitiveEventFilter limits each message
+     * template to a number of events per interval.
+     */
+    public static final Marker REPETITIVE = MarkerFactory.getMarker("REPETITIVE");
+
+    private LogMarkers() {
+    }
+}
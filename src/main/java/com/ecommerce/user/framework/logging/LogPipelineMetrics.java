@@ -0,0 +1,59 @@
+package com.ecommerce.user.framework.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exports the state of the asynchronous logging pipeline configured in
+ * logback-spring.xml. Appenders and filters are looked up when the registry
+ * binds, after Spring Boot has applied the configuration.
+ *
+ * Exported metrics:
+ * - logging.events.dropped (counter, tagged appender), events lost to a full queue
+ * - logging.queue.remaining (gauge, tagged appender), free slots in the queue
+ * - logging.events.suppressed (counter), repetitive events denied by RepetitiveEventFilter
+ */
+public class LogPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME)
+                .iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof DroppingAsyncAppender appender) {
+                FunctionCounter.builder("logging.events.dropped", appender, DroppingAsyncAppender::getDroppedCount)
+                        .description("Log events dropped because the appender queue was full")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("logging.queue.remaining", appender, DroppingAsyncAppender::getRemainingCapacity)
+                        .description("Free slots in the appender queue")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof RepetitiveEventFilter repetitiveEventFilter) {
+                FunctionCounter.builder("logging.events.suppressed", repetitiveEventFilter,
+                                RepetitiveEventFilter::getSuppressedCount)
+                        .description("Repetitive log events suppressed by the per-template limit")
+                        .register(registry);
+            }
+        }
+    }
+}
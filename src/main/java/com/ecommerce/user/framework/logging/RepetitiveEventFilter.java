@@ -0,0 +1,83 @@
+package com.ecommerce.user.framework.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.util.Duration;
+
+/**
+ * Lets through at most 'eventsPerInterval' events per message template and
+ * interval, for events marked LogMarkers.REPETITIVE. Runs before the logging
+ * event is created, so a suppressed event costs a map lookup and a CAS.
+ *
+ * Templates are constants in the code, so the number of keys stays small.
+ */
+public class RepetitiveEventFilter extends TurboFilter {
+
+    private int eventsPerInterval = 20;
+    private long intervalMillis = 1_000;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // Level checks (marker null) and unmarked events are not sampled
+        if (marker == null || format == null || !marker.contains(LogMarkers.REPETITIVE)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(format, key -> new Window());
+        if (window.tryAcquire(System.currentTimeMillis() / intervalMillis, eventsPerInterval)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Events denied since startup, exported by LogPipelineMetrics.
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    public void setEventsPerInterval(int eventsPerInterval) {
+        this.eventsPerInterval = eventsPerInterval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.intervalMillis = Math.max(1, interval.getMilliseconds());
+    }
+
+    /**
+     * Interval number in the high 32 bits, events in the low 32 bits.
+     */
+    private static final class Window {
+
+        private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(long interval, int limit) {
+            while (true) {
+                long current = state.get();
+                long used = (current >>> 32) == (interval & COUNT_MASK) ? current & COUNT_MASK : 0;
+                if (used >= limit) {
+                    return false;
+                }
+                if (state.compareAndSet(current, (interval << 32) | (used + 1))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.user.framework.observation;
+
+import java.util.function.Supplier;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes one phase of a request flow. Each observation becomes:
+ * - a timer '<flow>' tagged phase=..., plus error=... when the phase throws
+ * (percentile histogram and trace exemplars enabled in application.yaml),
+ * - a child span of the current (HTTP request) span, named '<flow> <phase>'.
+ *
+ * Metric names to alert on (Prometheus):
+ * - user_login_phase_seconds: user_lookup, password_verify, password_upgrade,
+ * authority_mapping, token_signing, refresh_token
+ * - user_registration_phase_seconds: password_hash, user_insert
+ * - user_refresh_phase_seconds: token_lookup, user_lookup, authority_mapping,
+ * token_signing, refresh_token
+ */
+public final class Phases {
+
+    public static final String LOGIN = "user.login.phase";
+    public static final String REGISTRATION = "user.registration.phase";
+    public static final String REFRESH = "user.refresh.phase";
+
+    private static final String PHASE_KEY = "phase";
+
+    private Phases() {
+    }
+
+    public static <T> T observe(ObservationRegistry registry, String flow, String phase, Supplier<T> work) {
+        return Observation.createNotStarted(flow, registry)
+                .contextualName(flow + " " + phase)
+                .lowCardinalityKeyValue(PHASE_KEY, phase)
+                .observe(work);
+    }
+
+    public static void observe(ObservationRegistry registry, String flow, String phase, Runnable work) {
+        Observation.createNotStarted(flow, registry)
+                .contextualName(flow + " " + phase)
+                .lowCardinalityKeyValue(PHASE_KEY, phase)
+                .observe(work);
+    }
+}
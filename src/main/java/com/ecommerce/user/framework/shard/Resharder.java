@@ -0,0 +1,198 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline resharding: puts every user (with its user_roles and refresh_tokens)
+ * on the shard the new shard count assigns to its email, e.g. after adding a
+ * shard. Run it while the service is stopped, then restart the service with
+ * the new shard list.
+ *
+ * The new list must keep the old shard 0 first (it holds id_allocations) and
+ * list a database that stays by the same URL. Users are copied to their new
+ * shard in one transaction, then deleted from the old one in another; users
+ * already present on their new shard are only deleted, so an interrupted run
+ * can simply be started again. Role ids are matched by role name.
+ *
+ * From the packaged service (the changelog is applied to every target first):
+ *
+ * java -Dloader.main=com.ecommerce.user.framework.shard.Resharder \
+ *   -cp user-service.jar org.springframework.boot.loader.launch.PropertiesLauncher \
+ *   --from=jdbc:mysql://db0/users,jdbc:mysql://db1/users \
+ *   --to=jdbc:mysql://db0/users,jdbc:mysql://db1/users,jdbc:mysql://db2/users \
+ *   --username=... --password=... [--batch-size=500]
+ */
+@Slf4j
+public class Resharder {
+
+    public static final String CHANGE_LOG = "classpath:db/changelog/db.changelog-master.xml";
+
+    private static final String SELECT_USER_PAGE = "SELECT id, email FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_PRESENT_IDS = "SELECT id FROM users WHERE id IN (:ids)";
+    private static final String SELECT_USER_ROLES = """
+            SELECT ur.user_id, r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+            WHERE ur.user_id IN (:ids)
+            """;
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = ?";
+
+    private final List<DataSource> from;
+    private final List<DataSource> to;
+    private final ShardFunction shardFunction;
+    private final int batchSize;
+
+    /**
+     * @param from the current shards, in shard order
+     * @param to   the new shards, in shard order (same instances for databases in both lists)
+     */
+    public Resharder(List<DataSource> from, List<DataSource> to, int batchSize) {
+        if (from.isEmpty() || to.isEmpty() || from.get(0) != to.get(0)) {
+            throw new IllegalArgumentException("Shard 0 holds id_allocations and must stay shard 0");
+        }
+        this.from = List.copyOf(from);
+        this.to = List.copyOf(to);
+        this.shardFunction = new ShardFunction(to.size());
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param scannedUsers users found on the old shards
+     * @param movedUsers   users now living on another database
+     */
+    public record Report(long scannedUsers, long movedUsers) {
+    }
+
+    public Report run() {
+        long scanned = 0;
+        long moved = 0;
+        for (int shard = 0; shard < from.size(); shard++) {
+            DataSource source = from.get(shard);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+
+            // 1. Scan in id order; moved users are deleted behind the cursor
+            long afterId = Long.MIN_VALUE;
+            List<Map<String, Object>> page;
+            do {
+                page = jdbcTemplate.queryForList(SELECT_USER_PAGE, afterId, batchSize);
+                Map<DataSource, List<Long>> leaving = new LinkedHashMap<>();
+                for (Map<String, Object> row : page) {
+                    DataSource target = to.get(shardFunction.shardOf((String) row.get("email")));
+                    if (target != source) {
+                        leaving.computeIfAbsent(target, key -> new ArrayList<>())
+                                .add(((Number) row.get("id")).longValue());
+                    }
+                }
+
+                // 2. Copy, then delete, one target at a time
+                for (Map.Entry<DataSource, List<Long>> move : leaving.entrySet()) {
+                    move(source, move.getKey(), move.getValue());
+                    moved += move.getValue().size();
+                }
+                scanned += page.size();
+                if (!page.isEmpty()) {
+                    afterId = ((Number) page.get(page.size() - 1).get("id")).longValue();
+                }
+            } while (page.size() == batchSize);
+            log.info("Resharded old shard {}. Scanned: {}, Moved so far: {}", shard, scanned, moved);
+        }
+        return new Report(scanned, moved);
+    }
+
+    private void move(DataSource source, DataSource target, List<Long> ids) {
+        NamedParameterJdbcTemplate sourceJdbc = new NamedParameterJdbcTemplate(source);
+        NamedParameterJdbcTemplate targetJdbc = new NamedParameterJdbcTemplate(target);
+        Map<String, Object> parameters = Map.of("ids", ids);
+
+        inTransaction(target, () -> {
+            Set<Long> present = new HashSet<>(targetJdbc.queryForList(SELECT_PRESENT_IDS, parameters, Long.class));
+            List<Long> missing = ids.stream().filter(id -> !present.contains(id)).toList();
+            if (missing.isEmpty()) {
+                return;
+            }
+            Map<String, Object> missingParameters = Map.of("ids", missing);
+            copyRows(sourceJdbc, targetJdbc, "users", "id", missingParameters);
+            List<Object[]> userRoles = sourceJdbc.query(SELECT_USER_ROLES, missingParameters,
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) });
+            targetJdbc.getJdbcTemplate().batchUpdate(INSERT_USER_ROLE, userRoles);
+            copyRows(sourceJdbc, targetJdbc, "refresh_tokens", "user_id", missingParameters);
+        });
+        inTransaction(source, () -> {
+            sourceJdbc.update("DELETE FROM refresh_tokens WHERE user_id IN (:ids)", parameters);
+            sourceJdbc.update("DELETE FROM user_roles WHERE user_id IN (:ids)", parameters);
+            sourceJdbc.update("DELETE FROM users WHERE id IN (:ids)", parameters);
+        });
+    }
+
+    // Every column as is, so the copy follows the schema
+    private static void copyRows(NamedParameterJdbcTemplate source, NamedParameterJdbcTemplate target,
+            String table, String keyColumn, Map<String, Object> parameters) {
+        List<Map<String, Object>> rows = source.queryForList(
+                "SELECT * FROM " + table + " WHERE " + keyColumn + " IN (:ids)", parameters);
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        target.getJdbcTemplate().batchUpdate(insert,
+                rows.stream().map(row -> columns.stream().map(row::get).toArray()).toList());
+    }
+
+    private static void inTransaction(DataSource dataSource, Runnable work) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .executeWithoutResult(status -> work.run());
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource arguments = new SimpleCommandLinePropertySource(args);
+        String fromUrls = arguments.getProperty("from");
+        String toUrls = arguments.getProperty("to");
+        if (fromUrls == null || toUrls == null) {
+            throw new IllegalArgumentException("Usage: --from=<jdbc urls> --to=<jdbc urls> "
+                    + "[--username=..] [--password=..] [--batch-size=500]");
+        }
+        String batchSize = arguments.getProperty("batch-size");
+
+        // One DataSource per distinct URL, shared by both lists
+        Map<String, DataSource> databases = new LinkedHashMap<>();
+        List<DataSource> from = dataSources(fromUrls, databases, arguments);
+        List<DataSource> to = dataSources(toUrls, databases, arguments);
+
+        ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(new ArrayList<>(new LinkedHashSet<>(to)));
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        Report report = new Resharder(from, to, batchSize == null ? 500 : Integer.parseInt(batchSize)).run();
+        log.info("Resharding from {} to {} shards done. Scanned: {}, Moved: {}",
+                from.size(), to.size(), report.scannedUsers(), report.movedUsers());
+    }
+
+    private static List<DataSource> dataSources(String urls, Map<String, DataSource> databases,
+            SimpleCommandLinePropertySource arguments) {
+        return Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .map(url -> databases.computeIfAbsent(url, key -> new DriverManagerDataSource(
+                        key, arguments.getProperty("username"), arguments.getProperty("password"))))
+                .toList();
+    }
+}
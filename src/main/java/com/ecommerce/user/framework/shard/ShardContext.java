@@ -0,0 +1,82 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The shard the current thread works on, read by ShardRoutingDataSource when
+ * a connection is first used. Set by ShardRoutingAspect (from the repository
+ * method's shard key) or by Shards; nested calls restore the outer shard.
+ *
+ * Entering a shard inside a transaction also pins the transaction to it, for
+ * statements that run after the repository call returns (Hibernate flushes
+ * at commit). A transaction never spans shards: asking for another shard
+ * inside it fails.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = ShardContext.class;
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the selected shard, or null if none (ShardRoutingDataSource then uses shard 0)
+     */
+    public static Integer current() {
+        Integer shard = CURRENT.get();
+        if (shard != null) {
+            return shard;
+        }
+        return (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+    }
+
+    public static <T> T on(int shard, Supplier<T> action) {
+        Integer previous = enter(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * @return the previous shard, to hand back to {@link #restore}
+     * @throws IllegalStateException if the running transaction is pinned to another shard
+     */
+    static Integer enter(int shard) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pin(shard);
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static void pin(int shard) {
+        Integer pinned = (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (pinned == null) {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+            });
+        } else if (pinned != shard) {
+            throw new IllegalStateException(
+                    "Transaction is bound to shard " + pinned + " and cannot use shard " + shard);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.user.framework.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Where a user lives, computed from the email alone (no directory lookup).
+ *
+ * The normalized email hashes into one of BUCKETS fixed virtual buckets; the
+ * bucket maps to one of 'shardCount' physical shards by jump consistent hash,
+ * so going from n to n + 1 shards moves only about 1 / (n + 1) of the buckets
+ * (see Resharder). The bucket is also stored in the low BUCKET_BITS of every
+ * user id allocated while sharding is enabled, so an id routes on its own.
+ *
+ * The hash (FNV-1a over UTF-8, then the MurmurHash3 finalizer) and the bucket
+ * count are part of the stored data: never change them.
+ */
+public final class ShardFunction {
+
+    public static final int BUCKET_BITS = 10;
+    public static final int BUCKETS = 1 << BUCKET_BITS;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shardCount;
+
+    public ShardFunction(int shardCount) {
+        if (shardCount < 1 || shardCount > BUCKETS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + BUCKETS + ": " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String email) {
+        return shardOfBucket(bucketOf(email));
+    }
+
+    /**
+     * Only valid for ids allocated while sharding was enabled (older ids carry no bucket).
+     */
+    public int shardOfUserId(long userId) {
+        return shardOfBucket(bucketOfUserId(userId));
+    }
+
+    public int shardOfBucket(int bucket) {
+        return jumpConsistentHash(mix(bucket), shardCount);
+    }
+
+    /**
+     * The same normalization as the case-insensitive unique index on users.email.
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static int bucketOf(String email) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : normalize(email).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return (int) (mix(hash) & (BUCKETS - 1));
+    }
+
+    public static int bucketOfUserId(long userId) {
+        return (int) (userId & (BUCKETS - 1));
+    }
+
+    /**
+     * A user id carrying its bucket: the sequence in the high bits, the bucket in the low BUCKET_BITS.
+     */
+    public static long userId(long sequence, int bucket) {
+        return (sequence << BUCKET_BITS) | bucket;
+    }
+
+    // Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    private static int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.user.framework.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a ShardedRepository method that selects the shard:
+ * an email (String), a user id (Long) or a collection of emails, which must
+ * all live on the same shard.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
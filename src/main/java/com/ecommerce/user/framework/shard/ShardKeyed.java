@@ -0,0 +1,10 @@
+package com.ecommerce.user.framework.shard;
+
+/**
+ * A row of a sharded table that knows its shard key (the owner's email), so
+ * saving it routes without a @ShardKey parameter.
+ */
+public interface ShardKeyed {
+
+    String shardKey();
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.user.framework.shard;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Runs every ShardedRepository call on the shard of its key (see
+ * ShardedRepository for where the key comes from). A call without a key
+ * fails unless the caller selected a shard: running it on shard 0 would
+ * silently miss the other shards.
+ */
+@Aspect
+public class ShardRoutingAspect {
+
+    private static final int NO_KEY_PARAMETER = -1;
+
+    private final ShardFunction shardFunction;
+    private final Map<Method, Integer> keyParameters = new ConcurrentHashMap<>();
+
+    public ShardRoutingAspect(ShardFunction shardFunction) {
+        this.shardFunction = shardFunction;
+    }
+
+    @Around("target(com.ecommerce.user.framework.shard.ShardedRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Integer shard = resolve(joinPoint);
+        if (shard == null) {
+            if (ShardContext.current() == null) {
+                throw new IllegalStateException(joinPoint.getSignature().toShortString()
+                        + " has no shard key; run it on a shard with Shards");
+            }
+            return joinPoint.proceed();
+        }
+        Integer previous = ShardContext.enter(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private Integer resolve(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        int keyParameter = keyParameters.computeIfAbsent(method, ShardRoutingAspect::keyParameter);
+        Object[] args = joinPoint.getArgs();
+        if (keyParameter != NO_KEY_PARAMETER) {
+            if (args[keyParameter] == null) {
+                throw new IllegalArgumentException("Null shard key for " + joinPoint.getSignature().toShortString());
+            }
+            Integer shard = shardOf(args[keyParameter]);
+            return shard != null ? shard : 0; // An empty collection: nothing to look up anywhere
+        }
+        for (Object arg : args) {
+            if (arg instanceof ShardKeyed
+                    || arg instanceof Iterable<?> iterable && iterable.iterator().hasNext()
+                            && iterable.iterator().next() instanceof ShardKeyed) {
+                return shardOf(arg);
+            }
+        }
+        return null;
+    }
+
+    private Integer shardOf(Object key) {
+        if (key instanceof String email) {
+            return shardFunction.shardOf(email);
+        }
+        if (key instanceof ShardKeyed keyed) {
+            return shardFunction.shardOf(keyed.shardKey());
+        }
+        if (key instanceof Number userId) {
+            return shardFunction.shardOfUserId(userId.longValue());
+        }
+        if (key instanceof Iterable<?> keys) {
+            Integer shard = null;
+            for (Object element : keys) {
+                int elementShard = shardOf(element);
+                if (shard != null && shard != elementShard) {
+                    throw new IllegalArgumentException("Shard keys span shards " + shard + " and " + elementShard
+                            + "; split the call per shard (Shards.partition)");
+                }
+                shard = elementShard;
+            }
+            return shard;
+        }
+        throw new IllegalArgumentException("Unsupported shard key type: " + key.getClass().getName());
+    }
+
+    private static int keyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return i;
+                }
+            }
+        }
+        return NO_KEY_PARAMETER;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out connections of the shard selected in ShardContext. Without a
+ * selection (Liquibase, roles, id_allocations, health checks) it uses shard 0,
+ * which holds the tables that are not sharded.
+ *
+ * The shard is usually selected by the first repository call of a transaction,
+ * after the transaction began: wrap this in a LazyConnectionDataSourceProxy so
+ * the connection is obtained at the first statement.
+ *
+ * Exported metrics:
+ * - db.shard.connections (counter, tagged shard)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Counter[] connections;
+
+    public ShardRoutingDataSource(List<DataSource> shards, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        connections = new Counter[shards.size()];
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+            connections[shard] = Counter.builder("db.shard.connections")
+                    .description("Connections handed out per shard")
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        connections[shard == null ? 0 : shard].increment();
+        return shard;
+    }
+}
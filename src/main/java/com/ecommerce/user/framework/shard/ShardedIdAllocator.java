@@ -0,0 +1,29 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.Objects;
+
+import com.ecommerce.user.framework.id.IdAllocator;
+
+/**
+ * User ids that carry the owner's bucket: a sequence from the delegate in the
+ * high bits and ShardFunction.bucketOf(email) in the low BUCKET_BITS. The
+ * sequence is global (one id_allocations row on shard 0), so ids stay unique
+ * when buckets move between shards.
+ *
+ * The delegate's ids must stay below 2^43 to keep user ids within 53 bits
+ * (exact in JavaScript): a pooled sequence, not the time-ordered allocator.
+ */
+public class ShardedIdAllocator implements IdAllocator {
+
+    private final IdAllocator sequence;
+
+    public ShardedIdAllocator(IdAllocator sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public long nextId(String ownerEmail) {
+        Objects.requireNonNull(ownerEmail, "A sharded user id needs its owner's email");
+        return ShardFunction.userId(sequence.nextId(ownerEmail), ShardFunction.bucketOf(ownerEmail));
+    }
+}
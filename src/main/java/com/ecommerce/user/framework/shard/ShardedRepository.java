@@ -0,0 +1,10 @@
+package com.ecommerce.user.framework.shard;
+
+/**
+ * Marks a repository over sharded tables (users, user_roles, refresh_tokens).
+ * With sharding enabled every call runs on one shard (see ShardRoutingAspect),
+ * taken from, in order: a @ShardKey parameter, a ShardKeyed argument (or a
+ * collection of them), or the shard the caller already selected through Shards.
+ */
+public interface ShardedRepository {
+}
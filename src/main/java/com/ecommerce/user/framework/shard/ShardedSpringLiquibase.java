@@ -0,0 +1,33 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the same changelog to every shard, shard 0 first, so all shards have
+ * the same schema and the same seeded roles. Being a SpringLiquibase, it
+ * replaces Spring Boot's and still runs before the EntityManagerFactory.
+ */
+@Slf4j
+public class ShardedSpringLiquibase extends SpringLiquibase {
+
+    private final List<DataSource> shards;
+
+    public ShardedSpringLiquibase(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            log.info("Applying {} to shard {}", getChangeLog(), shard);
+            setDataSource(shards.get(shard));
+            super.afterPropertiesSet();
+        }
+    }
+}
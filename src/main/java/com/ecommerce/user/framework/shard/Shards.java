@@ -0,0 +1,141 @@
+package com.ecommerce.user.framework.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The shards, for code that cannot hand a single shard key to a repository:
+ * scatter-gather reads, maintenance on every shard, batches grouped by shard
+ * and transactions around several repository calls. Without sharding there is
+ * one shard and every method simply runs the action.
+ *
+ * Owns the per-shard pools (closed with the application context).
+ */
+@Slf4j
+public class Shards implements AutoCloseable {
+
+    private final ShardFunction shardFunction;
+    private final List<DataSource> dataSources;
+
+    public Shards(List<DataSource> dataSources) {
+        this.shardFunction = new ShardFunction(dataSources.size());
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    private Shards() {
+        this.shardFunction = new ShardFunction(1);
+        this.dataSources = List.of();
+    }
+
+    public static Shards unsharded() {
+        return new Shards();
+    }
+
+    public boolean enabled() {
+        return !dataSources.isEmpty();
+    }
+
+    public int count() {
+        return shardFunction.shardCount();
+    }
+
+    public ShardFunction function() {
+        return shardFunction;
+    }
+
+    /**
+     * @return the pool of every shard, in shard order (empty without sharding)
+     */
+    public List<DataSource> dataSources() {
+        return dataSources;
+    }
+
+    /**
+     * Runs the action on the shard of the email, e.g. a transaction whose first
+     * repository call has no key of its own.
+     */
+    public <T> T onShardOf(String email, Supplier<T> action) {
+        if (!enabled()) {
+            return action.get();
+        }
+        return ShardContext.on(shardFunction.shardOf(email), action);
+    }
+
+    /**
+     * Runs the action once per shard, one shard after the other.
+     *
+     * @return the result of every shard, in shard order
+     */
+    public <T> List<T> onEach(Supplier<T> action) {
+        if (!enabled()) {
+            return Collections.singletonList(action.get()); // May be null, like the sharded results
+        }
+        List<T> results = new ArrayList<>(count());
+        for (int shard = 0; shard < count(); shard++) {
+            results.add(ShardContext.on(shard, action));
+        }
+        return results;
+    }
+
+    public void forEach(Runnable action) {
+        onEach(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Looks a key that carries no shard (e.g. a token hash) up on every shard
+     * until one has it.
+     */
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> lookup) {
+        if (!enabled()) {
+            return lookup.get();
+        }
+        for (int shard = 0; shard < count(); shard++) {
+            Optional<T> found = ShardContext.on(shard, lookup);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Groups the items by the shard of their email, keeping their order within a group.
+     */
+    public <T> Collection<List<T>> partition(Collection<T> items, Function<T, String> email) {
+        if (!enabled()) {
+            return List.of(List.copyOf(items));
+        }
+        Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(shardFunction.shardOf(email.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return groups.values();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close a shard pool", ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.user.framework.tracing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * Head sampler. A new trace is sampled at the base rate while the span budget
+ * lasts; otherwise it is only recorded, so TailSamplingSpanProcessor can still
+ * keep it when it ends with an error or slowly. Children follow their parent.
+ */
+public final class AdaptiveSampler implements Sampler {
+
+    private final double baseRate;
+    private final SpanBudget budget;
+
+    public AdaptiveSampler(double baseRate, SpanBudget budget) {
+        this.baseRate = baseRate;
+        this.budget = budget;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+            Attributes attributes, List<LinkData> parentLinks) {
+        Span parent = Span.fromContext(parentContext);
+        SpanContext parentSpanContext = parent.getSpanContext();
+
+        // 1. Child of a sampled span: the trace is already exported, keep it whole
+        if (parentSpanContext.isSampled()) {
+            budget.charge();
+            return SamplingResult.recordAndSample();
+        }
+
+        // 2. Child of a local span that is not recorded: the trace was dropped
+        if (parentSpanContext.isValid() && !parentSpanContext.isRemote()) {
+            return parent.isRecording() ? SamplingResult.recordOnly() : SamplingResult.drop();
+        }
+
+        // 3. Local root: base rate within budget, otherwise decided when the root span ends
+        if (ThreadLocalRandom.current().nextDouble() < baseRate && budget.tryAcquire(1)) {
+            return SamplingResult.recordAndSample();
+        }
+        return SamplingResult.recordOnly();
+    }
+
+    @Override
+    public String getDescription() {
+        return "AdaptiveSampler{baseRate=" + baseRate + "}";
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.user.framework.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Number of spans that may be exported per second. The window and the count
+ * share one AtomicLong (second in the high 32 bits, spans in the low 32 bits),
+ * so a window switch never loses or double counts a span.
+ */
+public final class SpanBudget {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final long spansPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong state = new AtomicLong();
+
+    public SpanBudget(long spansPerSecond) {
+        this(spansPerSecond, System::nanoTime);
+    }
+
+    SpanBudget(long spansPerSecond, LongSupplier nanoClock) {
+        this.spansPerSecond = spansPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes 'spans' from the current second, all or nothing.
+     */
+    public boolean tryAcquire(int spans) {
+        long second = nanoClock.getAsLong() / NANOS_PER_SECOND;
+        while (true) {
+            long current = state.get();
+            long used = (current >>> 32) == (second & COUNT_MASK) ? current & COUNT_MASK : 0;
+            if (used + spans > spansPerSecond) {
+                return false;
+            }
+            if (state.compareAndSet(current, (second << 32) | (used + spans))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Counts a span that is exported regardless of the budget (a child of an
+     * already sampled trace), so it is taken from what is left for new traces.
+     */
+    public void charge() {
+        long second = nanoClock.getAsLong() / NANOS_PER_SECOND;
+        state.updateAndGet(current -> {
+            long used = (current >>> 32) == (second & COUNT_MASK) ? current & COUNT_MASK : 0;
+            return (second << 32) | Math.min(used + 1, COUNT_MASK);
+        });
+    }
+}
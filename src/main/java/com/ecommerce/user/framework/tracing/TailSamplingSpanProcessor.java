@@ -0,0 +1,150 @@
+package com.ecommerce.user.framework.tracing;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+/**
+ * Exports traces the AdaptiveSampler only recorded, when their local root span
+ * ends with an error (status ERROR or a 5xx outcome) or took at least the slow
+ * threshold, and the span budget allows the whole trace.
+ *
+ * Spans of a pending trace are held until its root ends; traces whose root
+ * never ends are evicted after a minute.
+ *
+ * Exported metrics:
+ * - tracing.tail.decisions (counter, tagged decision=error|slow|dropped|over_budget)
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final String METRIC_NAME = "tracing.tail.decisions";
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final SpanProcessor exporter;
+    private final SpanBudget budget;
+    private final long slowThresholdNanos;
+    private final Cache<String, Queue<ReadableSpan>> pending;
+
+    private final Counter errorDecisions;
+    private final Counter slowDecisions;
+    private final Counter droppedDecisions;
+    private final Counter overBudgetDecisions;
+
+    /**
+     * @param exporter receives the spans of kept traces; must export unsampled spans
+     */
+    public TailSamplingSpanProcessor(SpanProcessor exporter, SpanBudget budget, Duration slowThreshold,
+            int maximumPendingTraces, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.budget = budget;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(maximumPendingTraces)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+        this.errorDecisions = decisionCounter("error", meterRegistry);
+        this.slowDecisions = decisionCounter("slow", meterRegistry);
+        this.droppedDecisions = decisionCounter("dropped", meterRegistry);
+        this.overBudgetDecisions = decisionCounter("over_budget", meterRegistry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext spanContext = span.getSpanContext();
+        // Sampled spans are exported by Spring Boot's own span processor
+        if (spanContext.isSampled()) {
+            return;
+        }
+
+        // 1. Not the local root: hold the span until the root decides
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            pending.get(spanContext.getTraceId(), traceId -> new ConcurrentLinkedQueue<>()).add(span);
+            return;
+        }
+
+        // 2. Local root: decide for the whole trace
+        Queue<ReadableSpan> children = pending.asMap().remove(spanContext.getTraceId());
+        Counter decision = decide(span);
+        if (decision == null) {
+            droppedDecisions.increment();
+            return;
+        }
+        int spans = 1 + (children == null ? 0 : children.size());
+        if (!budget.tryAcquire(spans)) {
+            overBudgetDecisions.increment();
+            return;
+        }
+        decision.increment();
+
+        // 3. Export children first, then the root
+        if (children != null) {
+            children.forEach(exporter::onEnd);
+        }
+        exporter.onEnd(span);
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return exporter.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.forceFlush();
+    }
+
+    /**
+     * Returns the counter of the reason to keep the trace, or null to drop it.
+     * Cheap checks first: most roots are dropped.
+     */
+    private Counter decide(ReadableSpan root) {
+        if (SERVER_ERROR.equals(root.getAttribute(OUTCOME))) {
+            return errorDecisions;
+        }
+        if (root.getLatencyNanos() >= slowThresholdNanos) {
+            return slowDecisions;
+        }
+        if (root.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR) {
+            return errorDecisions;
+        }
+        return null;
+    }
+
+    private static Counter decisionCounter(String decision, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .description("Tail sampling decisions for traces not sampled at the start")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+}
@@ -2,7 +2,10 @@ package com.ecommerce.user.framework.web;
 
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,19 +13,44 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.ecommerce.user.exception.EmailAlreadyExistsException;
+import com.ecommerce.user.exception.HashingCapacityExceededException;
+import com.ecommerce.user.exception.InvalidImportFormatException;
+import com.ecommerce.user.exception.InvalidRefreshTokenException;
 import com.ecommerce.user.exception.RoleNotFoundException;
+import com.ecommerce.user.framework.logging.LogMarkers;
 import com.ecommerce.user.framework.response.GlobalResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Global Exception Handler.
  * Captures exceptions and returns the standard failure response format.
+ * Failures with a constant message (401, 409, 503, 500) answer with a body
+ * serialized once at startup; only the 400s, which echo the input, serialize per request.
  */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ResponseEntity<byte[]> badCredentials;
+    private final ResponseEntity<byte[]> invalidRefreshToken;
+    private final ResponseEntity<byte[]> emailAlreadyExists;
+    private final ResponseEntity<byte[]> serviceBusy;
+    private final ResponseEntity<byte[]> configurationError;
+    private final ResponseEntity<byte[]> internalServerError;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) throws JsonProcessingException {
+        this.badCredentials = prepare(objectMapper, HttpStatus.UNAUTHORIZED, "Authentication failed: Bad credentials");
+        this.invalidRefreshToken = prepare(objectMapper, HttpStatus.UNAUTHORIZED, "Invalid refresh token.");
+        this.emailAlreadyExists = prepare(objectMapper, HttpStatus.CONFLICT, EmailAlreadyExistsException.MESSAGE);
+        this.serviceBusy = prepare(objectMapper, HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, please retry later.");
+        this.configurationError = prepare(objectMapper, HttpStatus.INTERNAL_SERVER_ERROR,
+                "System configuration error, please contact admin.");
+        this.internalServerError = prepare(objectMapper, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error.");
+    }
+
     /**
      * Handles 400 Bad Request (Bean Validation failures).
      */
@@ -31,50 +59,107 @@ public class GlobalExceptionHandler {
         String errorMessage = ex.getBindingResult().getFieldErrors().stream()
                 .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
                 .collect(Collectors.joining(", "));
-        log.warn("Validation failed: {}", errorMessage);
+        log.warn(LogMarkers.REPETITIVE, "Validation failed: {}", errorMessage);
         GlobalResponse<Object> response = GlobalResponse.error(errorMessage);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles 400 Bad Request (unusable bulk import body).
+     */
+    @ExceptionHandler(InvalidImportFormatException.class)
+    public ResponseEntity<GlobalResponse<Object>> handleInvalidImportFormatException(InvalidImportFormatException ex) {
+        log.warn("Bulk import rejected: {}", ex.getMessage());
+        GlobalResponse<Object> response = GlobalResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles 409 Conflict (Email already exists).
      */
     @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<GlobalResponse<Object>> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex) {
-        log.warn("Registration conflict: {}", ex.getMessage());
-        GlobalResponse<Object> response = GlobalResponse.error(ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    public ResponseEntity<byte[]> handleEmailAlreadyExistsException(EmailAlreadyExistsException ex) {
+        log.warn(LogMarkers.REPETITIVE, "Registration conflict: {}", ex.getMessage());
+        return emailAlreadyExists;
+    }
+
+    /**
+     * Handles 409 Conflict for a duplicate email that reached the database
+     * without going through the registration service's own translation.
+     * Any other integrity violation is a bug and stays a 500.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<byte[]> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (!EmailAlreadyExistsException.isCausedBy(ex)) {
+            return handleGeneralException(ex);
+        }
+        log.warn(LogMarkers.REPETITIVE, "Registration conflict: {}", EmailAlreadyExistsException.UNIQUE_CONSTRAINT);
+        return emailAlreadyExists;
     }
 
     /**
      * Handles 401 Unauthorized (Authentication failures).
-     * This catches BadCredentialsException (wrong password)
-     * and UsernameNotFoundException (wrong email) from the AuthenticationManager.
+     * This catches InvalidPasswordException (wrong password)
+     * and UserNotFoundException (wrong email) from the AuthenticationManager,
+     * with one body for both.
      */
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<GlobalResponse<Object>> handleAuthenticationException(AuthenticationException ex) {
-        log.warn("Authentication failed: {}", ex.getMessage());
-        GlobalResponse<Object> response = GlobalResponse.error("Authentication failed: Bad credentials");
-        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<byte[]> handleAuthenticationException(AuthenticationException ex) {
+        log.warn(LogMarkers.REPETITIVE, "Authentication failed: {}", ex.getMessage());
+        return badCredentials;
+    }
+
+    /**
+     * Handles 401 Unauthorized (refresh token unknown, expired, revoked or reused).
+     * One message for all cases, like bad credentials.
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<byte[]> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        log.warn(LogMarkers.REPETITIVE, "Refresh rejected: {}", ex.getMessage());
+        return invalidRefreshToken;
+    }
+
+    /**
+     * Handles 503 Service Unavailable (password hashing pool saturated).
+     * Fails fast so clients back off instead of piling up on the request threads.
+     */
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<byte[]> handleHashingCapacityExceededException(HashingCapacityExceededException ex) {
+        log.warn(LogMarkers.REPETITIVE, "Request shed: {}", ex.getMessage());
+        return serviceBusy;
     }
 
     /**
      * Handles 500 (Internal config error, e.g., required roles not in DB).
      */
     @ExceptionHandler(RoleNotFoundException.class)
-    public ResponseEntity<GlobalResponse<Object>> handleRoleNotFoundException(RoleNotFoundException ex) {
+    public ResponseEntity<byte[]> handleRoleNotFoundException(RoleNotFoundException ex) {
         log.error("Internal configuration error: {}", ex.getMessage());
-        GlobalResponse<Object> response = GlobalResponse.error("System configuration error, please contact admin.");
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        return configurationError;
     }
 
     /**
      * Handles 500 Internal Server Error (all other uncaught exceptions).
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<GlobalResponse<Object>> handleGeneralException(Exception ex) {
+    public ResponseEntity<byte[]> handleGeneralException(Exception ex) {
         log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
-        GlobalResponse<Object> response = GlobalResponse.error("Internal server error.");
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        return internalServerError;
+    }
+
+    /**
+     * Serializes a constant error body once. The entity is shared by all requests,
+     * so its headers are read-only.
+     */
+    private static ResponseEntity<byte[]> prepare(ObjectMapper objectMapper, HttpStatus status, String message)
+            throws JsonProcessingException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            // See handleHashingCapacityExceededException
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        byte[] body = objectMapper.writeValueAsBytes(GlobalResponse.error(message));
+        return new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers), status);
     }
 }
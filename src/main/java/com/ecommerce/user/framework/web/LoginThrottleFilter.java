@@ -0,0 +1,176 @@
+package com.ecommerce.user.framework.web;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ecommerce.user.framework.response.GlobalResponse;
+import com.ecommerce.user.service.security.LoginThrottle;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies LoginThrottle to POST /api/v1/users/login inside the security filter
+ * chain (see SecurityConfig), so a throttled attempt gets a 429 before any
+ * database lookup or password hash.
+ *
+ * The client IP bucket is checked first; only then is the (small) body read to
+ * find the email, and replayed to the controller. The IP is getRemoteAddr():
+ * with 'server.forward-headers-strategy: native' Tomcat sets it to the first
+ * X-Forwarded-For hop that is not one of 'server.tomcat.remoteip.internal-proxies',
+ * so requests relayed by the gateway are not all counted as one client. A body without a readable
+ * email is let through: validation rejects it without hashing anyway.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    public static final String LOGIN_PATH = "/api/v1/users/login";
+
+    // The decoded servlet path, as Spring MVC and the security chain see it: '/api/v1/users/%6Cogin' is a login too
+    private static final RequestMatcher LOGIN_REQUEST = AntPathRequestMatcher.antMatcher(HttpMethod.POST, LOGIN_PATH);
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final LoginThrottle loginThrottle;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !loginThrottle.isEnabled() || !LOGIN_REQUEST.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // 1. Client address: Tomcat has already replaced the gateway's with X-Forwarded-For (see application.yaml)
+        Duration wait = loginThrottle.acquireForIp(request.getRemoteAddr());
+        if (!wait.isZero()) {
+            reject(response, wait, "Too many login attempts from this address, please retry later.");
+            return;
+        }
+
+        // 2. Account
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Login request too large.");
+            return;
+        }
+        String email = readEmail(body);
+        if (email != null) {
+            wait = loginThrottle.acquireForEmail(email);
+            if (!wait.isZero()) {
+                reject(response, wait, "Too many login attempts for this account, please retry later.");
+                return;
+            }
+        }
+
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String readEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() && !email.asText().isBlank() ? email.asText() : null;
+        } catch (IOException ex) {
+            return null; // Malformed JSON; the controller answers 400
+        }
+    }
+
+    private void reject(HttpServletResponse response, Duration wait, String message) throws IOException {
+        log.debug("Login throttled: {}", message);
+        // Round up: a client retrying after the header's value must get through
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), GlobalResponse.error(message));
+    }
+
+    /**
+     * Replays the body that was already read to find the email.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
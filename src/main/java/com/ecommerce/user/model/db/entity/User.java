@@ -7,12 +7,13 @@ import java.util.Set;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.ecommerce.user.framework.id.AllocatedId;
+import com.ecommerce.user.framework.shard.ShardKeyed;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -28,10 +29,10 @@ import lombok.Setter;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
-public class User {
+public class User implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AllocatedId // No per-row key round-trip, so inserts can be batched
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -39,7 +40,7 @@ public class User {
     private String email;
 
     @Column(name = "password", nullable = false, length = 255)
-    private String password; // BCrypt hashed
+    private String password; // {id}-prefixed hash, see CalibratedPasswordEncoderFactory
 
     @Column(name = "display_name", nullable = false, length = 100)
     private String displayName;
@@ -55,11 +56,11 @@ public class User {
     /**
      * One-to-Many mapping to the join entity (UserRole).
      * This avoids @ManyToMany, as per company rules.
-     * FetchType.EAGER is used because the roles are fundamental to the User's
-     * identity (for JWT).
+     * FetchType.LAZY: authentication reads role names through the AuthRow
+     * projection, so other User loads should not drag the roles along.
      * CascadeType.ALL means saving a User will also save its associated UserRoles.
      */
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<UserRole> userRoles = new HashSet<>();
 
     public User(String email, String password, String displayName) {
@@ -68,6 +69,11 @@ public class User {
         this.displayName = displayName;
     }
 
+    @Override
+    public String shardKey() {
+        return email;
+    }
+
     /**
      * Helper method to add a UserRole association.
      */
@@ -0,0 +1,18 @@
+package com.ecommerce.user.model.db.projection;
+
+import com.ecommerce.user.constant.RoleName;
+
+/**
+ * Interface projection for authentication: one row per (user, role).
+ * roleName is null for a user without roles.
+ */
+public interface AuthRow {
+
+    Long getUserId();
+
+    String getEmail();
+
+    String getPasswordHash();
+
+    RoleName getRoleName();
+}
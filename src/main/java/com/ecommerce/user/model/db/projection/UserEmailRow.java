@@ -0,0 +1,11 @@
+package com.ecommerce.user.model.db.projection;
+
+/**
+ * One row of a keyset-paged scan over users.email.
+ */
+public interface UserEmailRow {
+
+    Long getId();
+
+    String getEmail();
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.user.repository.db;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.user.framework.shard.ShardedRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC access to refresh_tokens. Tokens are written once and then only
+ * change state through conditional UPDATEs, so no entity is needed.
+ * Tokens live on their owner's shard; no method takes a shard key, so callers
+ * select the shard through Shards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRepository implements ShardedRepository {
+
+    private static final String INSERT_TOKEN =
+            "INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_TOKEN = """
+            SELECT rt.token_hash, rt.user_id, u.email, rt.family_id, rt.expires_at, rt.rotated_at, rt.revoked_at
+            FROM refresh_tokens rt
+            JOIN users u ON u.id = rt.user_id
+            WHERE rt.token_hash = ?
+            """;
+    private static final String ROTATE_TOKEN = """
+            UPDATE refresh_tokens SET rotated_at = ?
+            WHERE token_hash = ? AND rotated_at IS NULL AND revoked_at IS NULL AND expires_at > ?
+            """;
+    private static final String REVOKE_FAMILY =
+            "UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM refresh_tokens WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A stored token with its owner's email (for the role lookup).
+     */
+    public record StoredRefreshToken(String tokenHash, long userId, String email, String familyId,
+            Instant expiresAt, Instant rotatedAt, Instant revokedAt) {
+    }
+
+    public void insert(String tokenHash, long userId, String familyId, Instant expiresAt) {
+        jdbcTemplate.update(INSERT_TOKEN, tokenHash, userId, familyId, Timestamp.from(expiresAt));
+    }
+
+    public Optional<StoredRefreshToken> findByHash(String tokenHash) {
+        List<StoredRefreshToken> tokens = jdbcTemplate.query(SELECT_TOKEN, (rs, rowNum) -> new StoredRefreshToken(
+                rs.getString("token_hash"),
+                rs.getLong("user_id"),
+                rs.getString("email"),
+                rs.getString("family_id"),
+                rs.getTimestamp("expires_at").toInstant(),
+                toInstant(rs.getTimestamp("rotated_at")),
+                toInstant(rs.getTimestamp("revoked_at"))), tokenHash);
+        return tokens.stream().findFirst();
+    }
+
+    /**
+     * Marks a live token as used, atomically (the row is the single source of truth across replicas).
+     *
+     * @return false if the token is unknown, expired, revoked or was already rotated
+     */
+    public boolean markRotated(String tokenHash, Instant now) {
+        Timestamp timestamp = Timestamp.from(now);
+        return jdbcTemplate.update(ROTATE_TOKEN, timestamp, tokenHash, timestamp) == 1;
+    }
+
+    /**
+     * Revokes every token descended from the same login.
+     *
+     * @return the number of revoked tokens
+     */
+    public int revokeFamily(String familyId, Instant now) {
+        return jdbcTemplate.update(REVOKE_FAMILY, Timestamp.from(now), familyId);
+    }
+
+    /**
+     * @return the number of deleted tokens
+     */
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(now));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
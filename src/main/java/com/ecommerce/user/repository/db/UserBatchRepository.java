@@ -0,0 +1,100 @@
+package com.ecommerce.user.repository.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.user.framework.shard.ShardKey;
+import com.ecommerce.user.framework.shard.ShardKeyed;
+import com.ecommerce.user.framework.shard.ShardedRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plain JDBC batch writes for the bulk import, bypassing the persistence
+ * context (no entity state or dirty checking for rows we never read back).
+ *
+ * With MySQL, add 'rewriteBatchedStatements=true' to the JDBC URL so each
+ * batch is sent as one multi-row INSERT. Callers own the transaction and,
+ * with sharding, group the users by shard (Shards.partition).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository implements ShardedRepository {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, email, password, display_name) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String SELECT_EXISTING_EMAILS =
+            "SELECT email FROM users WHERE email IN (:emails)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * A user row ready to insert (password already hashed).
+     */
+    public record NewUser(long id, String email, String encodedPassword, String displayName) implements ShardKeyed {
+
+        @Override
+        public String shardKey() {
+            return email;
+        }
+    }
+
+    /**
+     * Returns which of the given emails are already taken, in one query (all on the same shard).
+     */
+    public Set<String> findExistingEmails(@ShardKey Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                SELECT_EXISTING_EMAILS, Map.of("emails", emails), String.class));
+    }
+
+    /**
+     * Inserts the users (ids pre-allocated by the IdAllocator) as one JDBC batch.
+     */
+    public void insertUsers(List<NewUser> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewUser user = users.get(i);
+                ps.setLong(1, user.id());
+                ps.setString(2, user.email());
+                ps.setString(3, user.encodedPassword());
+                ps.setString(4, user.displayName());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+    }
+
+    /**
+     * Inserts every (user, role) pair as one JDBC batch.
+     */
+    public void insertUserRoles(List<NewUser> users, List<Integer> roleIds) {
+        List<Object[]> rows = new ArrayList<>(users.size() * roleIds.size());
+        for (NewUser user : users) {
+            for (Integer roleId : roleIds) {
+                rows.add(new Object[] { user.id(), roleId });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, rows);
+    }
+}
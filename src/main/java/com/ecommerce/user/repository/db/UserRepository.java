@@ -1,22 +1,74 @@
 package com.ecommerce.user.repository.db;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.user.framework.shard.ShardKey;
+import com.ecommerce.user.framework.shard.ShardedRepository;
 import com.ecommerce.user.model.db.entity.User;
+import com.ecommerce.user.model.db.projection.AuthRow;
+import com.ecommerce.user.model.db.projection.UserEmailRow;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, ShardedRepository {
 
     /**
      * Finds a user by their email.
      */
-    Optional<User> findByEmail(String email);
+    Optional<User> findByEmail(@ShardKey String email);
+
+    /**
+     * Loads what authentication needs (id, password hash, role names) in a
+     * single query, without materializing User, UserRole or Role entities.
+     * Read-only (like the other reads below): served by a replica when DataSource routing is enabled.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT u.id AS userId, u.email AS email, u.password AS passwordHash, r.name AS roleName
+            FROM User u
+            LEFT JOIN u.userRoles ur
+            LEFT JOIN ur.role r
+            WHERE u.email = :email
+            """)
+    List<AuthRow> findAuthRowsByEmail(@ShardKey @Param("email") String email);
+
+    /**
+     * Replaces the password hash without loading the entity.
+     *
+     * @return the number of updated rows (0 if the email is unknown)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.email = :email")
+    int updatePasswordByEmail(@ShardKey @Param("email") String email, @Param("password") String password,
+            @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Next page of (id, email) after the given id, in id order (keyset paging on the primary key).
+     * With sharding, one shard's page: run it through Shards.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserEmailRow> findEmailPage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Emails of users created at or after the given instant (idx_users_created_at).
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT u.email FROM User u WHERE u.createdAt >= :since")
+    List<String> findEmailsCreatedSince(@Param("since") Instant since);
 
     /**
      * Checks if an email already exists in the database.
      */
-    boolean existsByEmail(String email);
+    @Transactional(readOnly = true)
+    boolean existsByEmail(@ShardKey String email);
 }
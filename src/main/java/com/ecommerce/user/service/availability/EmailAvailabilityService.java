@@ -0,0 +1,14 @@
+package com.ecommerce.user.service.availability;
+
+import com.ecommerce.user.controller.availability.dto.EmailAvailabilityResponse;
+
+public interface EmailAvailabilityService {
+
+    /**
+     * Tells whether an email can still be registered.
+     *
+     * @param email The email to check
+     * @return The availability DTO
+     */
+    EmailAvailabilityResponse checkEmail(String email);
+}
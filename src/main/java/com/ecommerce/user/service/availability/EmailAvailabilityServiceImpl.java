@@ -0,0 +1,44 @@
+package com.ecommerce.user.service.availability;
+
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.user.controller.availability.dto.EmailAvailabilityResponse;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.repository.db.UserRepository;
+import com.ecommerce.user.service.security.AuthUserCache;
+import com.ecommerce.user.service.security.RegisteredEmailFilter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Email Availability Service Implementation.
+ * Most checks are for free emails, which the RegisteredEmailFilter answers in
+ * memory; only "might exist" answers cost an indexed existsByEmail query.
+ * The answer is a hint for the signup form: registration itself still relies
+ * on the idx_email_unique constraint.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailAvailabilityServiceImpl implements EmailAvailabilityService {
+
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AuthUserCache authUserCache;
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public EmailAvailabilityResponse checkEmail(String email) {
+        // 1. Definitely never registered: no database access
+        if (!registeredEmailFilter.mightExist(email)) {
+            return new EmailAvailabilityResponse(email, true);
+        }
+
+        // 2. Known account (recent login or registration), still no database access
+        if (authUserCache.contains(email) || readYourWrites.isRecent(email)) {
+            return new EmailAvailabilityResponse(email, false);
+        }
+
+        // 3. Registered or a false positive: ask the database
+        return new EmailAvailabilityResponse(email, !userRepository.existsByEmail(email));
+    }
+}
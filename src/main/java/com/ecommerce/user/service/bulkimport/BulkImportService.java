@@ -0,0 +1,22 @@
+package com.ecommerce.user.service.bulkimport;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.ecommerce.user.constant.ImportFormat;
+import com.ecommerce.user.controller.bulkimport.dto.ImportRowFailure;
+import com.ecommerce.user.controller.bulkimport.dto.ImportSummary;
+
+public interface BulkImportService {
+
+    /**
+     * Creates one user (with the default roles) per row of the body.
+     * Bad rows are reported and skipped; they never abort the import.
+     *
+     * @param body           The streamed request body
+     * @param format         NDJSON or CSV
+     * @param failureHandler Receives each rejected row as soon as it is known
+     * @return The totals of the import
+     */
+    ImportSummary importUsers(InputStream body, ImportFormat format, Consumer<ImportRowFailure> failureHandler);
+}
@@ -0,0 +1,286 @@
+package com.ecommerce.user.service.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.user.config.BulkImportProperties;
+import com.ecommerce.user.constant.ImportFormat;
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.controller.bulkimport.dto.ImportRowFailure;
+import com.ecommerce.user.controller.bulkimport.dto.ImportSummary;
+import com.ecommerce.user.controller.registration.dto.RegistrationRequest;
+import com.ecommerce.user.exception.EmailAlreadyExistsException;
+import com.ecommerce.user.framework.id.IdAllocator;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.repository.db.UserBatchRepository;
+import com.ecommerce.user.repository.db.UserBatchRepository.NewUser;
+import com.ecommerce.user.service.bulkimport.ImportRowReader.ImportRow;
+import com.ecommerce.user.service.role.RoleRegistry;
+import com.ecommerce.user.service.security.AuthUserCache;
+import com.ecommerce.user.service.security.BoundedExecutorPasswordEncoder;
+import com.ecommerce.user.service.security.RegisteredEmailFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk Import Service Implementation.
+ *
+ * Works on 'chunk-size' rows at a time, so memory stays flat for any body size:
+ * 1. Read and validate rows; drop duplicates within the chunk.
+ * 2. Drop emails that already exist (one IN query), before paying for a hash.
+ * 3. Hash the remaining passwords in parallel on a dedicated pool (not the
+ * login pool, so an import cannot starve interactive logins).
+ * 4. Insert users and user_roles as JDBC batches in one transaction per chunk.
+ * If a concurrent signup wins an email in between, the chunk is rolled back
+ * and retried row by row, so only that row fails.
+ * With sharding, steps 2 to 4 run once per shard present in the chunk.
+ */
+@Slf4j
+@Service
+public class BulkImportServiceImpl implements BulkImportService, DisposableBean {
+
+    private static final String METRIC_NAME = "bulk.import.hashing";
+
+    private final UserBatchRepository userBatchRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuthUserCache authUserCache;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ReadYourWrites readYourWrites;
+    private final IdAllocator userIdAllocator;
+    private final Shards shards;
+    private final ExecutorService hashingPool;
+    private final int chunkSize;
+
+    public BulkImportServiceImpl(BulkImportProperties properties, UserBatchRepository userBatchRepository,
+            RoleRegistry roleRegistry, BoundedExecutorPasswordEncoder passwordEncoder,
+            TransactionTemplate transactionTemplate, Validator validator, ObjectMapper objectMapper,
+            AuthUserCache authUserCache, RegisteredEmailFilter registeredEmailFilter, ReadYourWrites readYourWrites,
+            IdAllocator userIdAllocator, Shards shards, MeterRegistry meterRegistry) {
+        this.userBatchRepository = userBatchRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder.getDelegate(); // Parallelism is bounded by our own pool
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.authUserCache = authUserCache;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.readYourWrites = readYourWrites;
+        this.userIdAllocator = userIdAllocator;
+        this.shards = shards;
+        this.chunkSize = properties.chunkSize();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulk-import-hash-");
+        threadFactory.setDaemon(true);
+        this.hashingPool = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(properties.hashingPoolSize(), threadFactory), METRIC_NAME);
+    }
+
+    @Override
+    public ImportSummary importUsers(InputStream body, ImportFormat format,
+            Consumer<ImportRowFailure> failureHandler) {
+        ImportRowReader reader = new ImportRowReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), format, objectMapper);
+        ImportRun run = new ImportRun(failureHandler);
+        long startedAt = System.nanoTime();
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = reader.next()) != null) {
+            run.processed++;
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                run.fail(row, error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+
+        log.info("Bulk import finished in {} ms. Processed: {}, Imported: {}, Failed: {}",
+                (System.nanoTime() - startedAt) / 1_000_000, run.processed, run.imported, run.failed);
+        return new ImportSummary(run.processed, run.imported, run.failed);
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdownNow();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportRun run) {
+        // 1. Keep the first row per email (emails compare case-insensitively, like the unique index)
+        Map<String, ImportRow> rowsByEmail = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (rowsByEmail.putIfAbsent(key(row.request().email()), row) != null) {
+                run.fail(row, "Duplicate email in import");
+            }
+        }
+
+        // A transaction never spans shards
+        for (List<ImportRow> shardRows : shards.partition(rowsByEmail.values(), row -> row.request().email())) {
+            importShardRows(shardRows, run);
+        }
+    }
+
+    private void importShardRows(List<ImportRow> candidates, ImportRun run) {
+        // 2. Drop emails that are already registered
+        Set<String> existing = userBatchRepository.findExistingEmails(
+                candidates.stream().map(row -> row.request().email()).toList())
+                .stream().map(BulkImportServiceImpl::key).collect(Collectors.toSet());
+        List<ImportRow> rows = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(key(row.request().email()))) {
+                run.fail(row, "Email already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // 3. Hash in parallel
+        List<NewUser> users = hashAll(rows);
+
+        // 4. Insert the chunk in one transaction, or row by row if a concurrent signup took an email
+        List<Integer> roleIds = RoleName.DEFAULT_ROLES.stream().map(roleRegistry::getId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users, roleIds));
+            run.imported += users.size();
+        } catch (DataIntegrityViolationException ex) {
+            if (!EmailAlreadyExistsException.isCausedBy(ex)) {
+                throw ex;
+            }
+            log.warn("Bulk import chunk hit an existing email; retrying {} rows one by one.", users.size());
+            for (int i = 0; i < users.size(); i++) {
+                importOne(rows.get(i), users.get(i), roleIds, run);
+            }
+        }
+
+        // Unknown emails are never cached, but keep the cache rule simple: evict on every write.
+        // Rows that lost to a concurrent signup exist too, so every email goes into the filter,
+        // and logins right after the import read the new accounts from the primary.
+        users.forEach(user -> {
+            authUserCache.evict(user.email());
+            registeredEmailFilter.add(user.email());
+            readYourWrites.written(user.email());
+        });
+    }
+
+    private void importOne(ImportRow row, NewUser user, List<Integer> roleIds, ImportRun run) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(user), roleIds));
+            run.imported++;
+        } catch (DataIntegrityViolationException ex) {
+            if (!EmailAlreadyExistsException.isCausedBy(ex)) {
+                throw ex;
+            }
+            run.fail(row, "Email already exists");
+        }
+    }
+
+    private void insert(List<NewUser> users, List<Integer> roleIds) {
+        userBatchRepository.insertUsers(users);
+        userBatchRepository.insertUserRoles(users, roleIds);
+    }
+
+    private List<NewUser> hashAll(List<ImportRow> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String rawPassword = row.request().password();
+            hashes.add(hashingPool.submit(() -> passwordEncoder.encode(rawPassword)));
+        }
+
+        List<NewUser> users = new ArrayList<>(rows.size());
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                RegistrationRequest request = rows.get(i).request();
+                users.add(new NewUser(userIdAllocator.nextId(request.email()), request.email(), hashes.get(i).get(),
+                        request.displayName()));
+            }
+        } catch (InterruptedException ex) {
+            hashes.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", ex);
+        } catch (ExecutionException ex) {
+            hashes.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+        return users;
+    }
+
+    /**
+     * Returns the Bean Validation errors of the row ("field: message, ..."), or null if valid.
+     */
+    private String validate(RegistrationRequest request) {
+        Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Counters of one import call (confined to the request thread).
+     */
+    private static final class ImportRun {
+
+        private final Consumer<ImportRowFailure> failureHandler;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Consumer<ImportRowFailure> failureHandler) {
+            this.failureHandler = failureHandler;
+        }
+
+        private void fail(ImportRow row, String error) {
+            failed++;
+            String email = row.request() != null ? row.request().email() : null;
+            failureHandler.accept(new ImportRowFailure(row.line(), email, error));
+        }
+    }
+}
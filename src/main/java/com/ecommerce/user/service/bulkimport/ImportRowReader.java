@@ -0,0 +1,145 @@
+package com.ecommerce.user.service.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.ecommerce.user.constant.ImportFormat;
+import com.ecommerce.user.controller.registration.dto.RegistrationRequest;
+import com.ecommerce.user.exception.InvalidImportFormatException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads an import body one line at a time, so memory does not depend on its size.
+ *
+ * NDJSON: one RegistrationRequest object per line.
+ * CSV: a header naming the 'email', 'password' and 'displayName' columns (any
+ * order), then one user per line. Quoted fields ("a, b" and "say ""hi""") are
+ * supported; line breaks inside a field are not.
+ */
+class ImportRowReader {
+
+    /**
+     * One data line: either a parsed request or the reason it could not be parsed.
+     */
+    record ImportRow(long line, RegistrationRequest request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+    private int emailColumn = -1;
+    private int passwordColumn = -1;
+    private int displayNameColumn = -1;
+
+    ImportRowReader(BufferedReader reader, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank data line, or null at the end of the body.
+     *
+     * @throws InvalidImportFormatException if the CSV header is missing a column
+     */
+    ImportRow next() {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && emailColumn < 0) {
+                readHeader(line);
+                continue;
+            }
+            return format == ImportFormat.CSV ? parseCsv(line) : parseJson(line);
+        }
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            lineNumber++;
+            return line;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read the import body", ex);
+        }
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            // A 'null', number, string or array line would bind to null or fail oddly: reject it as a row
+            JsonNode node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                return new ImportRow(lineNumber, null, "Expected a JSON object");
+            }
+            return new ImportRow(lineNumber, objectMapper.treeToValue(node, RegistrationRequest.class), null);
+        } catch (JsonProcessingException ex) {
+            return new ImportRow(lineNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private void readHeader(String line) {
+        List<String> columns = splitCsv(line);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "email" -> emailColumn = i;
+                case "password" -> passwordColumn = i;
+                case "displayname", "display_name" -> displayNameColumn = i;
+                default -> {
+                    // Extra columns are ignored
+                }
+            }
+        }
+        if (emailColumn < 0 || passwordColumn < 0 || displayNameColumn < 0) {
+            throw new InvalidImportFormatException("CSV header must name the email, password and displayName columns");
+        }
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        int required = Math.max(emailColumn, Math.max(passwordColumn, displayNameColumn)) + 1;
+        if (fields.size() < required) {
+            return new ImportRow(lineNumber, null, "Expected at least " + required + " columns, got " + fields.size());
+        }
+        return new ImportRow(lineNumber, new RegistrationRequest(
+                fields.get(emailColumn), fields.get(passwordColumn), fields.get(displayNameColumn)), null);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -2,7 +2,10 @@ package com.ecommerce.user.service.login;
 
 import com.ecommerce.user.controller.login.dto.LoginRequest;
 import com.ecommerce.user.controller.login.dto.LoginResponse;
+import com.ecommerce.user.controller.login.dto.RefreshTokenRequest;
 
 public interface LoginService {
     LoginResponse login(LoginRequest request);
+
+    LoginResponse refresh(RefreshTokenRequest request);
 }
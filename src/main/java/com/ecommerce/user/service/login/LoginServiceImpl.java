@@ -1,6 +1,5 @@
 package com.ecommerce.user.service.login;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -8,21 +7,26 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
 
-import com.ecommerce.user.config.JwtProperties;
 import com.ecommerce.user.controller.login.dto.LoginRequest;
 import com.ecommerce.user.controller.login.dto.LoginResponse;
+import com.ecommerce.user.controller.login.dto.RefreshTokenRequest;
+import com.ecommerce.user.framework.jwt.AccessTokenIssuer;
+import com.ecommerce.user.framework.logging.LogMarkers;
+import com.ecommerce.user.framework.observation.Phases;
 import com.ecommerce.user.service.security.SecurityUser;
+import com.ecommerce.user.service.security.UserDetailsServiceImpl;
+import com.ecommerce.user.service.token.RefreshTokenManager;
+import com.ecommerce.user.service.token.RefreshTokenManager.TokenOwner;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Implements the logic for 'POST /api/v1/users/login'.
+ * Implements the logic for 'POST /api/v1/users/login' and
+ * 'POST /api/v1/users/token/refresh'.
  */
 @Slf4j
 @Service
@@ -32,11 +36,16 @@ public class LoginServiceImpl implements LoginService {
     // Inject the AuthenticationManager bean from SecurityConfig
     private final AuthenticationManager authenticationManager;
 
-    // Inject the JwtEncoder bean from JwtConfig
-    private final JwtEncoder jwtEncoder;
+    // Inject the AccessTokenIssuer bean from JwtConfig
+    private final AccessTokenIssuer accessTokenIssuer;
 
-    // Inject the JwtProperties bean from JwtConfig
-    private final JwtProperties jwtProperties;
+    private final RefreshTokenManager refreshTokenManager;
+
+    // Current roles for a refresh (AuthUserCache first), no password check
+    private final UserDetailsServiceImpl userDetailsService;
+
+    // Phase timers and spans (see Phases); user_lookup and password_verify are observed where they run
+    private final ObservationRegistry observationRegistry;
 
     @Override
     public LoginResponse login(LoginRequest request) {
@@ -45,39 +54,48 @@ public class LoginServiceImpl implements LoginService {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password()));
 
-        log.info("User {} authenticated successfully", request.email());
-        String token = generateJwtToken(authentication);
-        return new LoginResponse(token);
+        log.info(LogMarkers.REPETITIVE, "User {} authenticated successfully", request.email());
+        SecurityUser securityUser = (SecurityUser) authentication.getPrincipal();
+        String token = generateJwtToken(securityUser, Phases.LOGIN);
+        String refreshToken = Phases.observe(observationRegistry, Phases.LOGIN, "refresh_token",
+                () -> refreshTokenManager.issue(securityUser.getUserId(), securityUser.getUsername()));
+        return new LoginResponse(token, refreshToken);
     }
 
     /**
-     * Creates a JWT using the JwtEncoder Bean.
+     * Renews the access token without any password hashing.
+     * Roles are read again, so a role change applies from the next refresh.
      */
-    private String generateJwtToken(Authentication authentication) {
-        SecurityUser securityUser = (SecurityUser) authentication.getPrincipal();
+    @Override
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        // 1. Find the owner of the refresh token (in memory when this instance issued it)
+        TokenOwner owner = Phases.observe(observationRegistry, Phases.REFRESH, "token_lookup",
+                () -> refreshTokenManager.resolve(request.refreshToken()));
+
+        // 2. Load the current roles before consuming the token, so a failure here leaves it usable
+        SecurityUser securityUser = userDetailsService.loadUser(owner.email(), Phases.REFRESH);
+
+        // 3. Consume the refresh token and issue both tokens anew
+        String refreshToken = Phases.observe(observationRegistry, Phases.REFRESH, "refresh_token",
+                () -> refreshTokenManager.rotate(request.refreshToken()));
+        return new LoginResponse(generateJwtToken(securityUser, Phases.REFRESH), refreshToken);
+    }
+
+    /**
+     * Creates a JWT using the AccessTokenIssuer Bean, timed under the given flow.
+     * Claims: iss, iat, exp, sub (userId), authorities, userId.
+     */
+    private String generateJwtToken(SecurityUser securityUser, String flow) {
+
+        // Get authorities (roles) for the custom 'authorities' claim
+        List<String> authorities = Phases.observe(observationRegistry, flow, "authority_mapping",
+                () -> securityUser.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()));
+
+        String userId = securityUser.getUserId().toString();
 
-        Instant now = Instant.now();
-        long expiryInSeconds = jwtProperties.expirationSec();
-
-        // Get authorities (roles) as a space-separated string
-        List<String> authorities = securityUser.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
-
-        String userId = securityUser.getUser().getId().toString();
-
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                // Set 'iss' (Issuer) claim
-                .issuer(jwtProperties.issuerUrl())
-                .issuedAt(now)
-                .expiresAt(now.plusSeconds(expiryInSeconds))
-                // Set 'sub' (Subject) claim to userId
-                .subject(userId)
-                // Set custom 'authorities' claim
-                .claim("authorities", authorities)
-                .claim("userId", userId)
-                .build();
-
-        return this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return Phases.observe(observationRegistry, flow, "token_signing",
+                () -> accessTokenIssuer.issue(userId, authorities));
     }
 }
@@ -3,21 +3,26 @@ package com.ecommerce.user.service.registration;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.ecommerce.user.constant.RoleName;
 import com.ecommerce.user.controller.registration.dto.RegistrationRequest;
 import com.ecommerce.user.controller.registration.dto.UserResponse;
 import com.ecommerce.user.exception.EmailAlreadyExistsException;
-import com.ecommerce.user.exception.RoleNotFoundException;
-import com.ecommerce.user.model.db.entity.Role;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.framework.logging.LogMarkers;
+import com.ecommerce.user.framework.observation.Phases;
 import com.ecommerce.user.model.db.entity.User;
 import com.ecommerce.user.model.db.entity.UserRole;
-import com.ecommerce.user.repository.db.RoleRepository;
 import com.ecommerce.user.repository.db.UserRepository;
+import com.ecommerce.user.service.role.RoleRegistry;
+import com.ecommerce.user.service.security.AuthUserCache;
+import com.ecommerce.user.service.security.RegisteredEmailFilter;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,66 +35,88 @@ import lombok.extern.slf4j.Slf4j;
 public class RegistrationServiceImpl implements RegistrationService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder; // Injected from SecurityConfig
+    private final TransactionTemplate transactionTemplate;
+    private final AuthUserCache authUserCache;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ReadYourWrites readYourWrites;
+    private final ObservationRegistry observationRegistry; // Phase timers and spans, see Phases
 
     /**
      * Implements the business logic for user registration.
+     * The password is hashed before the write transaction is opened, so a slow
+     * (or queued) BCrypt never holds a DB connection.
+     *
+     * Duplicate emails are detected by the idx_email_unique constraint on the
+     * INSERT itself (one round-trip, and race-free between concurrent requests).
      */
     @Override
-    @Transactional // Ensures user and roles are saved in one transaction
     public UserResponse registerUser(RegistrationRequest request) {
 
-        // 1. Check if email exists (HTTP 409)
-        if (userRepository.existsByEmail(request.email())) {
-            log.warn("Attempted to register with existing email: {}", request.email());
-            throw new EmailAlreadyExistsException(request.email());
+        // 1. Cheap pre-filter: skip the expensive hash if the email is already known (HTTP 409)
+        if (authUserCache.contains(request.email())) {
+            log.warn(LogMarkers.REPETITIVE, "Attempted to register with existing email: {}", request.email());
+            throw new EmailAlreadyExistsException();
         }
 
-        // 2. Fetch the required roles (BUYER and SELLER)
-        Set<RoleName> requiredRoleNames = Set.of(RoleName.ROLE_BUYER_USER, RoleName.ROLE_SELLER_ADMIN);
-        Set<Role> rolesToAssign = roleRepository.findByNameIn(requiredRoleNames);
+        // 2. Hash the password on the hashing pool (outside any transaction)
+        String encodedPassword = Phases.observe(observationRegistry, Phases.REGISTRATION, "password_hash",
+                () -> passwordEncoder.encode(request.password()));
+
+        // 3. Save the User and its roles in one transaction; the unique index rejects duplicates (HTTP 409)
+        User savedUser;
+        try {
+            savedUser = Phases.observe(observationRegistry, Phases.REGISTRATION, "user_insert",
+                    () -> transactionTemplate.execute(status -> saveUserWithRoles(request, encodedPassword)));
+        } catch (DataIntegrityViolationException ex) {
+            if (!EmailAlreadyExistsException.isCausedBy(ex)) {
+                throw ex;
+            }
+            log.warn(LogMarkers.REPETITIVE, "Attempted to register with existing email: {}", request.email());
+            throw new EmailAlreadyExistsException();
+        }
 
-        // 2a. Validate that the roles exist in the database (system integrity check)
-        if (rolesToAssign.size() != requiredRoleNames.size()) {
-            RoleName missingRole = requiredRoleNames.stream()
-                    .filter(roleName -> rolesToAssign.stream().noneMatch(role -> role.getName().equals(roleName)))
-                    .findFirst()
-                    .orElse(RoleName.ROLE_BUYER_USER); // Fallback for error message
+        // 3a. Drop anything cached for this email now that the new account is committed,
+        // and let logins and availability checks on this instance see it right away (even before replicas do)
+        authUserCache.evict(savedUser.getEmail());
+        registeredEmailFilter.add(savedUser.getEmail());
+        readYourWrites.written(savedUser.getEmail());
 
-            log.error("System configuration error: Role '{}' not found in database.", missingRole);
-            throw new RoleNotFoundException(missingRole);
-        }
+        log.info("New user registered successfully. User ID: {}, Email: {}", savedUser.getId(), savedUser.getEmail());
 
-        // 3. Create new User entity and hash the password
-        User user = new User(
-                request.email(),
-                passwordEncoder.encode(request.password()),
-                request.displayName());
+        // 4. Map the entity to the response DTO
+        return mapToUserResponse(savedUser);
+    }
 
-        // 4. We *can* save it all at once if the User entity manages the relationship.
+    /**
+     * Saves the new User with references to its roles.
+     * Must run inside the write transaction so the role references are managed.
+     */
+    private User saveUserWithRoles(RegistrationRequest request, String encodedPassword) {
+        // 1. Create new User entity.
+        // We *can* save it all at once if the User entity manages the relationship.
         // We will *not* save User first. We let Cascade.ALL handle it.
-        Set<UserRole> userRoles = rolesToAssign.stream()
-                .map(role -> new UserRole(user, role)) // UserRole constructor sets up the association
+        User user = new User(request.email(), encodedPassword, request.displayName());
+
+        // 2. Attach the required roles (BUYER and SELLER) from the registry, no role query
+        Set<UserRole> userRoles = RoleName.DEFAULT_ROLES.stream()
+                .map(roleName -> new UserRole(user, roleRegistry.getReference(roleName))) // Sets up the association
                 .collect(Collectors.toSet());
         user.setUserRoles(userRoles);
 
-        // 5. Save the User. Cascade.ALL will save the UserRoles.
-        User savedUser = userRepository.save(user);
-
-        log.info("New user registered successfully. User ID: {}, Email: {}", savedUser.getId(), savedUser.getEmail());
-
-        // 6. Map the entity to the response DTO
-        return mapToUserResponse(savedUser);
+        // 3. Save the User. Cascade.ALL will save the UserRoles.
+        return userRepository.save(user);
     }
 
     /**
      * Helper method to map User entity to UserResponse DTO.
+     * Role names come from RoleName.DEFAULT_ROLES: the Role references on a freshly
+     * saved user are uninitialized proxies.
      */
     private UserResponse mapToUserResponse(User user) {
-        // Fetch role names from the (EAGER-loaded) collection
-        Set<String> roleNames = user.getUserRoles().stream()
-                .map(userRole -> userRole.getRole().getName().name())
+        Set<String> roleNames = RoleName.DEFAULT_ROLES.stream()
+                .map(RoleName::name)
                 .collect(Collectors.toSet());
 
         return new UserResponse(
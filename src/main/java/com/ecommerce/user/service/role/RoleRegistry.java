@@ -0,0 +1,81 @@
+package com.ecommerce.user.service.role;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.exception.RoleNotFoundException;
+import com.ecommerce.user.model.db.entity.Role;
+import com.ecommerce.user.repository.db.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory view of the 'roles' table, which is static reference data
+ * (seeded by 002-insert-initial-roles.xml).
+ *
+ * All rows are loaded once at startup; a missing RoleName fails the boot
+ * instead of every registration. Call refresh() after changing the table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry implements InitializingBean {
+
+    private final RoleRepository roleRepository;
+
+    // Replaced as a whole on refresh; RoleName -> role id
+    private volatile Map<RoleName, Integer> roleIds = Collections.emptyMap();
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+    }
+
+    /**
+     * Reloads all roles from the database.
+     *
+     * @throws RoleNotFoundException if any RoleName has no row
+     */
+    public void refresh() {
+        Map<RoleName, Integer> loaded = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role.getId());
+        }
+
+        for (RoleName roleName : RoleName.values()) {
+            if (!loaded.containsKey(roleName)) {
+                log.error("System configuration error: Role '{}' not found in database.", roleName);
+                throw new RoleNotFoundException(roleName);
+            }
+        }
+
+        this.roleIds = Collections.unmodifiableMap(loaded);
+        log.info("Loaded {} roles into the role registry.", loaded.size());
+    }
+
+    /**
+     * Returns the primary key of the role, for plain JDBC writes.
+     */
+    public Integer getId(RoleName roleName) {
+        Integer id = roleIds.get(roleName);
+        if (id == null) {
+            throw new RoleNotFoundException(roleName);
+        }
+        return id;
+    }
+
+    /**
+     * Returns a reference to the role in the current persistence context
+     * without querying the database. Must be called inside a transaction; only
+     * the id of the returned proxy is usable after that transaction ends.
+     */
+    public Role getReference(RoleName roleName) {
+        return roleRepository.getReferenceById(getId(roleName));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.user.service.security;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.ecommerce.user.model.db.projection.AuthRow;
+
+/**
+ * The immutable subset of a User that authentication needs.
+ * Safe to share across threads and to keep in AuthUserCache.
+ */
+public record AuthSnapshot(Long userId, String email, String passwordHash, Set<String> roleNames) {
+
+    public AuthSnapshot {
+        roleNames = Set.copyOf(roleNames);
+    }
+
+    /**
+     * Folds the (user, role) rows of UserRepository.findAuthRowsByEmail into one snapshot.
+     *
+     * @return empty if there are no rows (unknown email)
+     */
+    public static Optional<AuthSnapshot> fromRows(List<AuthRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> roleNames = new HashSet<>();
+        for (AuthRow row : rows) {
+            if (row.getRoleName() != null) {
+                roleNames.add(row.getRoleName().name());
+            }
+        }
+        AuthRow first = rows.get(0);
+        return Optional.of(new AuthSnapshot(first.getUserId(), first.getEmail(), first.getPasswordHash(), roleNames));
+    }
+
+    /**
+     * Copy with a new password hash (after a rehash on login).
+     */
+    public AuthSnapshot withPasswordHash(String newPasswordHash) {
+        return new AuthSnapshot(userId, email, newPasswordHash, roleNames);
+    }
+}
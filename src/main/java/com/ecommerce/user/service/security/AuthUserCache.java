@@ -0,0 +1,93 @@
+package com.ecommerce.user.service.security;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.AuthCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded, TTL-based cache of AuthSnapshots keyed by email, so repeated
+ * logins for the same account skip the users/user_roles/roles round-trip.
+ *
+ * Entries must be evicted whenever the password hash or the roles of an
+ * account change; the TTL only bounds how long a missed eviction can last
+ * (for example a change made directly in the database or on another replica).
+ * Unknown emails are never cached.
+ *
+ * Exported metrics: cache.* tagged cache=auth.users (size, gets, puts, evictions).
+ */
+@Slf4j
+@Component
+public class AuthUserCache {
+
+    private static final String CACHE_NAME = "auth.users";
+
+    private final Cache<String, AuthSnapshot> cache; // null when disabled
+
+    public AuthUserCache(AuthCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            this.cache = null;
+            log.info("Authentication cache disabled.");
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("Authentication cache enabled. Maximum size: {}, TTL: {}",
+                properties.maximumSize(), properties.ttl());
+    }
+
+    /**
+     * Returns the cached snapshot, or loads (and caches) it with the loader.
+     */
+    public Optional<AuthSnapshot> get(String email, Function<String, Optional<AuthSnapshot>> loader) {
+        if (cache == null) {
+            return loader.apply(email);
+        }
+        String key = key(email);
+        AuthSnapshot cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Not cache.get(key, loader): that runs the DB query inside a ConcurrentHashMap bin lock,
+        // which pins virtual threads. Concurrent misses may load twice; that is harmless.
+        Optional<AuthSnapshot> loaded = loader.apply(email);
+        loaded.ifPresent(snapshot -> cache.put(key, snapshot)); // An empty result is not stored
+        return loaded;
+    }
+
+    /**
+     * Tells whether the email belongs to a cached (so existing) account.
+     * Never touches the database; false means "unknown", not "free".
+     */
+    public boolean contains(String email) {
+        return cache != null && cache.getIfPresent(key(email)) != null;
+    }
+
+    /**
+     * Drops the entry of one account. Call after any credential or role change.
+     */
+    public void evict(String email) {
+        if (cache != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    // The email column is compared case-insensitively by MySQL, so the key must be too
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
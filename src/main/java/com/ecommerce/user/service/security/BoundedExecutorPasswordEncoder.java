@@ -0,0 +1,53 @@
+package com.ecommerce.user.service.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ecommerce.user.framework.observation.Phases;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * A PasswordEncoder decorator that runs the expensive encode/matches calls on
+ * the PasswordHashingExecutor instead of the calling (Tomcat) thread.
+ * Because both the AuthenticationManager and RegistrationService use the
+ * PasswordEncoder bean, all hashing in the service goes through the pool.
+ * matches() is only called by login, so it is observed as its password_verify phase.
+ */
+public class BoundedExecutorPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final ObservationRegistry observationRegistry;
+
+    public BoundedExecutorPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor hashingExecutor,
+            ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.hashingExecutor = hashingExecutor;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * The calibrated encoder itself, for callers that run on their own pool (bulk import).
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // Includes the wait for a hashing worker, which is part of the login latency
+        return Phases.observe(observationRegistry, Phases.LOGIN, "password_verify",
+                () -> hashingExecutor.execute(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Cheap prefix/cost inspection, no need to go through the pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
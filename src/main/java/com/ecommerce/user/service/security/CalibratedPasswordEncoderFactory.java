@@ -0,0 +1,141 @@
+package com.ecommerce.user.service.security;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.PasswordEncoderProperties;
+import com.ecommerce.user.constant.PasswordHashAlgorithm;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the DelegatingPasswordEncoder used for all password hashing.
+ *
+ * 1. Calibrates the work factor of the configured algorithm against
+ * 'target-latency' by timing real hashes on this host at startup.
+ * 2. Registers every supported algorithm so existing hashes keep matching.
+ * 3. Treats legacy un-prefixed hashes ("$2a$10$...") as BCrypt.
+ *
+ * DelegatingPasswordEncoder.upgradeEncoding() then reports any hash that is
+ * un-prefixed, uses another algorithm, or a lower work factor as stale, which
+ * DaoAuthenticationProvider uses to rehash on the next successful login.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CalibratedPasswordEncoderFactory {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Password123!";
+
+    // Spring Security 5.8 defaults for the Argon2 parameters we do not calibrate
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+
+    private final PasswordEncoderProperties properties;
+
+    public PasswordEncoder create() {
+        PasswordHashAlgorithm algorithm = properties.algorithm();
+        long budgetNanos = properties.targetLatency().toNanos();
+
+        int bcryptStrength = properties.bcryptMinStrength();
+        int argon2Iterations = properties.argon2MinIterations();
+        if (algorithm == PasswordHashAlgorithm.BCRYPT) {
+            bcryptStrength = calibrateBcrypt(budgetNanos);
+        } else {
+            argon2Iterations = calibrateArgon2(budgetNanos);
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PasswordHashAlgorithm.BCRYPT.getId(), bcrypt);
+        encoders.put(PasswordHashAlgorithm.ARGON2.getId(), argon2(argon2Iterations));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm.getId(), encoders);
+        // Hashes written before the delegating setup have no "{id}" prefix
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * BCrypt cost doubles per strength step: walk upwards from the floor while
+     * the measured p99 of the next step still fits the budget.
+     */
+    private int calibrateBcrypt(long budgetNanos) {
+        int strength = properties.bcryptMinStrength();
+        long p99 = measureP99(new BCryptPasswordEncoder(strength));
+        if (p99 > budgetNanos) {
+            log.warn("BCrypt strength {} already exceeds the hashing budget ({} ms > {} ms); keeping the minimum.",
+                    strength, toMillis(p99), toMillis(budgetNanos));
+        }
+        while (strength < properties.bcryptMaxStrength() && p99 * 2 <= budgetNanos) {
+            long next = measureP99(new BCryptPasswordEncoder(strength + 1));
+            if (next > budgetNanos) {
+                break;
+            }
+            strength++;
+            p99 = next;
+        }
+        log.info("Password encoder calibrated: bcrypt strength={}, p99={} ms, budget={} ms",
+                strength, toMillis(p99), toMillis(budgetNanos));
+        return strength;
+    }
+
+    /**
+     * Argon2 cost is linear in the iteration count: extrapolate from the floor,
+     * then step down until a measured run fits the budget.
+     */
+    private int calibrateArgon2(long budgetNanos) {
+        int minIterations = properties.argon2MinIterations();
+        long baseP99 = measureP99(argon2(minIterations));
+        int iterations = (int) Math.min(properties.argon2MaxIterations(),
+                Math.max(minIterations, minIterations * budgetNanos / Math.max(baseP99, 1)));
+
+        long p99 = iterations == minIterations ? baseP99 : measureP99(argon2(iterations));
+        while (iterations > minIterations && p99 > budgetNanos) {
+            iterations--;
+            p99 = measureP99(argon2(iterations));
+        }
+        if (p99 > budgetNanos) {
+            log.warn("Argon2 iterations {} already exceed the hashing budget ({} ms > {} ms); keeping the minimum.",
+                    iterations, toMillis(p99), toMillis(budgetNanos));
+        }
+        log.info("Password encoder calibrated: argon2 iterations={}, memory={} KiB, p99={} ms, budget={} ms",
+                iterations, properties.argon2MemoryKib(), toMillis(p99), toMillis(budgetNanos));
+        return iterations;
+    }
+
+    private Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                properties.argon2MemoryKib(), iterations);
+    }
+
+    /**
+     * Times 'calibration-samples' hashes after one warm-up run. With the small
+     * sample counts used at startup, the p99 is simply the slowest sample.
+     */
+    private long measureP99(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long[] samples = new long[properties.calibrationSamples()];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(samples.length * 0.99) - 1;
+        return samples[Math.max(index, 0)];
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.user.service.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.LoginThrottleProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-email and per-client-IP login attempt limits, checked before the
+ * credentials are looked up or hashed.
+ *
+ * Buckets live in bounded Caffeine maps (striped, no global lock) and expire
+ * once idle for capacity * refill-period, when they would be full again
+ * anyway, so idle keys cost nothing. If more keys than maximum-size are
+ * active at once the least recently used buckets are dropped (and reset).
+ *
+ * Exported metrics: auth.login.throttled (counter) tagged limit=email|ip.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final String METRIC_NAME = "auth.login.throttled";
+
+    private final boolean enabled;
+    private final LongSupplier nanoClock;
+    private final Limiter emailLimiter;
+    private final Limiter ipLimiter;
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = properties.enabled();
+        this.nanoClock = nanoClock;
+        this.emailLimiter = new Limiter("email", properties.perEmail(), properties.maximumSize(), meterRegistry);
+        this.ipLimiter = new Limiter("ip", properties.perIp(), properties.maximumSize(), meterRegistry);
+
+        if (enabled) {
+            log.info("Login throttling enabled. Per email: {} per {}, per IP: {} per {}",
+                    properties.perEmail().capacity(), properties.perEmail().refillPeriod(),
+                    properties.perIp().capacity(), properties.perIp().refillPeriod());
+        } else {
+            log.info("Login throttling disabled.");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes one attempt from the client address' bucket.
+     *
+     * @return Duration.ZERO when allowed, otherwise how long the client should wait
+     */
+    public Duration acquireForIp(String clientIp) {
+        return ipLimiter.acquire(clientIp, nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one attempt from the account's bucket.
+     *
+     * @return Duration.ZERO when allowed, otherwise how long the client should wait
+     */
+    public Duration acquireForEmail(String email) {
+        // Same normalization as AuthUserCache: one bucket per account, whatever the casing
+        return emailLimiter.acquire(email.toLowerCase(Locale.ROOT), nanoClock.getAsLong());
+    }
+
+    /**
+     * The buckets and rejection counter of one limit.
+     */
+    private static final class Limiter {
+
+        private final int capacity;
+        private final long refillNanos;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejectedCounter;
+
+        Limiter(String name, LoginThrottleProperties.Limit limit, long maximumSize, MeterRegistry meterRegistry) {
+            this.capacity = limit.capacity();
+            this.refillNanos = limit.refillPeriod().toNanos();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterAccess(capacity * refillNanos, TimeUnit.NANOSECONDS)
+                    .build();
+            this.rejectedCounter = Counter.builder(METRIC_NAME)
+                    .description("Login attempts rejected before authentication")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+
+        Duration acquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillNanos, now));
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos == 0) {
+                return Duration.ZERO;
+            }
+            rejectedCounter.increment();
+            return Duration.ofNanos(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.user.service.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ecommerce.user.exception.InvalidPasswordException;
+
+/**
+ * DaoAuthenticationProvider whose failures are cheap to throw.
+ *
+ * The stock provider builds a BadCredentialsException with a full stack trace
+ * for every wrong password, and replaces every UsernameNotFoundException with
+ * another one. Here a wrong password throws InvalidPasswordException, and the
+ * stackless UserNotFoundException from UserDetailsServiceImpl is passed on as is
+ * (hideUserNotFoundExceptions=false). GlobalExceptionHandler answers both with
+ * the same 401 body, so the client still cannot tell them apart. The dummy
+ * password check against timing attacks on unknown emails is unchanged.
+ */
+public class PasswordAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public PasswordAuthenticationProvider(UserDetailsServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+        setUserDetailsService(userDetailsService);
+        setUserDetailsPasswordService(userDetailsService);
+        setHideUserNotFoundExceptions(false);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+            UsernamePasswordAuthenticationToken authentication) {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null || !getPasswordEncoder().matches(credentials.toString(), userDetails.getPassword())) {
+            throw new InvalidPasswordException();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.user.service.security;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.PasswordHashingProperties;
+import com.ecommerce.user.exception.HashingCapacityExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A fixed-size, bounded-queue pool dedicated to CPU-heavy password hashing.
+ * Request threads hand their BCrypt work to this pool and park until it is done,
+ * so a login storm can saturate at most 'pool-size' cores instead of every
+ * Tomcat thread. When the queue is full the caller fails fast (HTTP 503).
+ *
+ * Exported metrics:
+ * - password.hashing.queue.depth (gauge)
+ * - password.hashing.wait (timer, time spent queued before a worker picked the task up)
+ * - password.hashing.rejected (counter, queue full or await timeout)
+ * - executor.* tagged name=password.hashing (standard Micrometer executor metrics)
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final String METRIC_NAME = "password.hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final long awaitTimeoutMillis;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+                properties.poolSize(),
+                properties.poolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.awaitTimeoutMillis = properties.awaitTimeout().toMillis();
+
+        this.waitTimer = Timer.builder(METRIC_NAME + ".wait")
+                .description("Time a hashing task spent queued before execution")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Hashing tasks rejected because the executor was saturated")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks currently waiting for a worker")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, METRIC_NAME, List.of()).bindTo(meterRegistry);
+
+        log.info("Password hashing executor started. Pool size: {}, Queue capacity: {}",
+                properties.poolSize(), properties.queueCapacity());
+    }
+
+    /**
+     * Runs the task on the hashing pool and blocks the caller until it completes.
+     *
+     * @throws HashingCapacityExceededException if the queue is full or the task
+     *                                          does not finish within await-timeout
+     */
+    public <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException();
+        }
+
+        try {
+            return future.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.user.service.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.EmailFilterProperties;
+import com.ecommerce.user.framework.bloom.BloomFilter;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.model.db.projection.UserEmailRow;
+import com.ecommerce.user.repository.db.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Bloom filter of every registered email, so availability checks of unknown
+ * emails can be answered without the database. "Absent" is definite up to the
+ * last sync; "might exist" means ask the database. Not used for logins: an
+ * account created on another replica a moment ago would be rejected.
+ *
+ * Kept current three ways:
+ * - add() right after this instance commits a new user,
+ * - sync() every sync-interval: emails created since the last sync (minus an
+ * overlap), which covers users registered on other replicas,
+ * - rebuild() at startup and every rebuild-interval: a keyset-paged scan of the
+ * users table into a filter sized for the current table.
+ * With sharding, the scan and the sync read every shard in turn.
+ * Until the first build completes every email "might exist".
+ *
+ * Exported metrics: email.filter.checks (counter) tagged result=absent|maybe_present.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private static final String METRIC_NAME = "email.filter.checks";
+
+    private final UserRepository userRepository;
+    private final Shards shards;
+    private final EmailFilterProperties properties;
+    private final Counter absentCounter;
+    private final Counter maybePresentCounter;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile BloomFilter filter; // null until built (or when disabled)
+    private volatile BloomFilter building; // receives add() too while a rebuild scans
+    private Instant lastSyncStartedAt; // guarded by refreshLock
+
+    public RegisteredEmailFilter(UserRepository userRepository, Shards shards, EmailFilterProperties properties,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.properties = properties;
+        this.absentCounter = Counter.builder(METRIC_NAME)
+                .description("Email lookups answered by the registered-email filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.maybePresentCounter = Counter.builder(METRIC_NAME)
+                .description("Email lookups answered by the registered-email filter")
+                .tag("result", "maybe_present")
+                .register(meterRegistry);
+        if (!properties.enabled()) {
+            log.info("Registered email filter disabled.");
+        }
+    }
+
+    /**
+     * False only if no user with this email exists (up to the last sync).
+     */
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        boolean maybe = current.mightContain(key(email));
+        (maybe ? maybePresentCounter : absentCounter).increment();
+        return maybe;
+    }
+
+    /**
+     * Records a newly committed user.
+     */
+    public void add(String email) {
+        String key = key(email);
+        BloomFilter next = building; // Read before 'filter': a rebuild swaps in 'building'
+        if (next != null) {
+            next.put(key);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+    }
+
+    /**
+     * Builds a new filter from the users table and swaps it in.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${ecommerce.email-filter.rebuild-interval}")
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            Instant startedAt = Instant.now();
+            long userCount = shards.onEach(userRepository::count).stream().mapToLong(Long::longValue).sum();
+            BloomFilter next = BloomFilter.create(
+                    Math.max(properties.expectedInsertions(), userCount * 2), properties.falsePositiveRate());
+            building = next;
+
+            // 1. Scan users in id order, one short read per page (shard after shard)
+            shards.forEach(() -> addAll(next));
+
+            // 2. Catch rows committed behind the cursor during the scan (allocated ids are not monotonic)
+            addCreatedSince(next, startedAt.minus(properties.syncOverlap()));
+
+            filter = next;
+            lastSyncStartedAt = startedAt;
+            log.info("Registered email filter built. Users: {}, Bits: {}, Hashes: {}, Took: {} ms",
+                    userCount, next.bitCount(), next.hashCount(),
+                    Instant.now().toEpochMilli() - startedAt.toEpochMilli());
+        } finally {
+            building = null;
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Adds users created since the previous sync, wherever they registered.
+     */
+    @Scheduled(initialDelayString = "${ecommerce.email-filter.sync-interval}",
+            fixedDelayString = "${ecommerce.email-filter.sync-interval}")
+    public void sync() {
+        if (!properties.enabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            BloomFilter current = filter;
+            if (current == null) {
+                return; // The first rebuild has not completed yet
+            }
+            Instant startedAt = Instant.now();
+            addCreatedSince(current, lastSyncStartedAt.minus(properties.syncOverlap()));
+            lastSyncStartedAt = startedAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void addAll(BloomFilter target) {
+        long afterId = Long.MIN_VALUE;
+        List<UserEmailRow> page;
+        do {
+            page = userRepository.findEmailPage(afterId, Limit.of(properties.pageSize()));
+            for (UserEmailRow row : page) {
+                target.put(key(row.getEmail()));
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == properties.pageSize());
+    }
+
+    private void addCreatedSince(BloomFilter target, Instant since) {
+        shards.forEach(() -> {
+            for (String email : userRepository.findEmailsCreatedSince(since)) {
+                target.put(key(email));
+            }
+        });
+    }
+
+    // The email column is compared case-insensitively by MySQL, so the key must be too
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
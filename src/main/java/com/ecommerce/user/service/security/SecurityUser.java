@@ -8,30 +8,33 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import com.ecommerce.user.model.db.entity.User;
-
 import lombok.Getter;
 
 /**
- * A bridge between our application 'User' entity and Spring Security's
- * UserDetails.
+ * A bridge between our application user and Spring Security's UserDetails.
+ * Backed by an immutable AuthSnapshot, not the managed User entity, so it can
+ * be built from AuthUserCache or the single-query auth projection.
  */
 public class SecurityUser implements UserDetails {
 
     @Getter
-    private final User user; // We store the original User entity
+    private final AuthSnapshot snapshot;
     private final Set<GrantedAuthority> authorities;
 
-    public SecurityUser(User user) {
-        this.user = user;
+    public SecurityUser(AuthSnapshot snapshot) {
+        this.snapshot = snapshot;
 
-        // Convert UserRoles to GrantedAuthority (e.g., "ROLE_BUYER_USER")
+        // Convert role names to GrantedAuthority (e.g., "ROLE_BUYER_USER")
         // This is crucial for the 'authorities' claim in the JWT.
-        this.authorities = user.getUserRoles().stream()
-                .map(userRole -> new SimpleGrantedAuthority(userRole.getRole().getName().name()))
+        this.authorities = snapshot.roleNames().stream()
+                .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toSet());
     }
 
+    public Long getUserId() {
+        return this.snapshot.userId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return this.authorities;
@@ -39,14 +42,13 @@ public class SecurityUser implements UserDetails {
 
     @Override
     public String getPassword() {
-        // Delegate to our User entity
-        return this.user.getPassword();
+        return this.snapshot.passwordHash();
     }
 
     @Override
     public String getUsername() {
         // Spring Security's 'username' is our 'email'
-        return this.user.getEmail();
+        return this.snapshot.email();
     }
 
     // --- Standard UserDetails methods ---
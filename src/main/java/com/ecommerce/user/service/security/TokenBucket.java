@@ -0,0 +1,41 @@
+package com.ecommerce.user.service.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket kept as a single "theoretical arrival time" (GCRA):
+ * each attempt pushes it one refill period further, and an attempt is allowed
+ * while it stays within capacity refill periods of now. Equivalent to a bucket
+ * of 'capacity' tokens refilled one per period, without a refill thread.
+ */
+final class TokenBucket {
+
+    private final long refillNanos;
+    private final long windowNanos; // capacity * refillNanos
+    private final AtomicLong arrival;
+
+    TokenBucket(int capacity, long refillNanos, long now) {
+        this.refillNanos = refillNanos;
+        this.windowNanos = capacity * refillNanos;
+        this.arrival = new AtomicLong(now); // Starts full
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = (current - now > 0 ? current : now) + refillNanos;
+            long excess = next - now - windowNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,31 +1,89 @@
 package com.ecommerce.user.service.security;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.user.exception.UserNotFoundException;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.framework.observation.Phases;
 import com.ecommerce.user.repository.db.UserRepository;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * This service implements the logic for 'POST /api/v1/users/login'.
- * It finds the user by 'email' (which Spring Security calls 'username').
+ * It finds the user by 'email' (which Spring Security calls 'username'),
+ * going through AuthUserCache first and a single-query projection second.
+ * It does not consult the RegisteredEmailFilter: a user registered on another
+ * instance is absent from it until the next sync, and must still be able to log in.
+ *
+ * It also implements UserDetailsPasswordService: after a successful login,
+ * DaoAuthenticationProvider calls updatePassword() with a fresh hash whenever
+ * the stored one is stale (legacy format, other algorithm, lower work factor).
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final AuthUserCache authUserCache;
+    private final ObservationRegistry observationRegistry;
+    private final ReadYourWrites readYourWrites;
 
+    /**
+     * No @Transactional here: a cache hit must not borrow a DB connection.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Find the user by email
-        return userRepository.findByEmail(email)
-                .map(SecurityUser::new) // Convert our User to Spring's UserDetails
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return loadUser(email, Phases.LOGIN);
+    }
+
+    /**
+     * Same lookup, timed as the user_lookup phase of the given flow (see Phases).
+     */
+    public SecurityUser loadUser(String email, String flow) {
+        // Find the user by email (cache first, then the database)
+        return Phases.observe(observationRegistry, flow, "user_lookup", () -> authUserCache
+                .get(email, this::loadSnapshot)
+                .map(SecurityUser::new) // Convert the snapshot to Spring's UserDetails
+                .orElseThrow(UserNotFoundException::new));
+    }
+
+    /**
+     * Persists the upgraded password hash (transparent rehash-on-login).
+     * One UPDATE; the returned UserDetails reuses the roles just authenticated.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        SecurityUser securityUser = (SecurityUser) user;
+        int updated = Phases.observe(observationRegistry, Phases.LOGIN, "password_upgrade",
+                () -> userRepository.updatePasswordByEmail(securityUser.getUsername(), newPassword, Instant.now()));
+        if (updated == 0) {
+            throw new UserNotFoundException();
+        }
+        // Evicted before commit: a racing reload may re-cache the old hash, which still
+        // matches the same password and only expires with the TTL
+        authUserCache.evict(securityUser.getUsername());
+        log.info("Upgraded password hash for user ID: {}", securityUser.getUserId());
+        return new SecurityUser(securityUser.getSnapshot().withPasswordHash(newPassword));
+    }
+
+    /**
+     * Reads id, password hash and role names in one query (the repository's own read-only
+     * transaction, so a replica when routing is enabled; the primary right after a registration).
+     */
+    private Optional<AuthSnapshot> loadSnapshot(String email) {
+        return AuthSnapshot.fromRows(readYourWrites.read(email, () -> userRepository.findAuthRowsByEmail(email)));
     }
 }
@@ -0,0 +1,184 @@
+package com.ecommerce.user.service.token;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.user.config.RefreshTokenProperties;
+import com.ecommerce.user.exception.InvalidRefreshTokenException;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.repository.db.RefreshTokenRepository;
+import com.ecommerce.user.repository.db.RefreshTokenRepository.StoredRefreshToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and rotates opaque refresh tokens (256 random bits, BASE64URL).
+ *
+ * Only SHA-256 hashes are stored. Every refresh token is single-use: a
+ * refresh marks it rotated and issues its successor in the same family (one
+ * family per login). Presenting an already rotated token means it leaked, so
+ * the whole family is revoked.
+ *
+ * The hot index keeps the immutable part of recently issued tokens (owner,
+ * family, expiry) so a refresh on the issuing instance skips the SELECT;
+ * token state lives only in the table and is changed by conditional UPDATEs.
+ *
+ * With sharding, tokens live on their owner's shard; a lookup by hash that
+ * misses the hot index asks the shards in turn.
+ */
+@Slf4j
+@Component
+public class RefreshTokenManager {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+    private final RefreshTokenProperties properties;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Cache<String, IndexedToken> hotIndex;
+
+    public RefreshTokenManager(RefreshTokenRepository refreshTokenRepository, TransactionTemplate transactionTemplate,
+            Shards shards, RefreshTokenProperties properties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.properties = properties;
+        this.hotIndex = Caffeine.newBuilder()
+                .maximumSize(properties.hotIndexMaximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    /**
+     * What a refresh token stands for.
+     *
+     * @param userId the owner
+     * @param email  the owner's email (key of AuthUserCache)
+     */
+    public record TokenOwner(long userId, String email) {
+    }
+
+    /**
+     * Starts a new family for a fresh login.
+     *
+     * @return the refresh token to hand to the client
+     */
+    public String issue(long userId, String email) {
+        String familyId = UUID.randomUUID().toString();
+        return shards.onShardOf(email, () -> transactionTemplate.execute(
+                status -> store(new IndexedToken(userId, email, familyId, null))));
+    }
+
+    /**
+     * Resolves the owner of a live token, without consuming it.
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown or expired
+     */
+    public TokenOwner resolve(String refreshToken) {
+        IndexedToken token = find(TokenHashes.sha256(refreshToken));
+        return new TokenOwner(token.userId(), token.email());
+    }
+
+    /**
+     * Consumes the token and issues its successor.
+     *
+     * @return the new refresh token
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used
+     */
+    public String rotate(String refreshToken) {
+        String tokenHash = TokenHashes.sha256(refreshToken);
+        IndexedToken token = find(tokenHash);
+        Instant now = Instant.now();
+
+        // 1. Consume and replace in one transaction; the UPDATE decides between concurrent refreshes
+        String next = shards.onShardOf(token.email(), () -> transactionTemplate.execute(
+                status -> refreshTokenRepository.markRotated(tokenHash, now) ? store(token) : null));
+        hotIndex.invalidate(tokenHash);
+        if (next != null) {
+            return next;
+        }
+
+        // 2. Rejected: a second use of a rotated token revokes everything issued from that login
+        shards.onShardOf(token.email(), () -> revokeFamilyIfReused(tokenHash, now));
+        throw new InvalidRefreshTokenException("Refresh token is no longer valid");
+    }
+
+    /**
+     * Deletes expired tokens (rotated ones are kept until then, for reuse detection).
+     */
+    @Scheduled(initialDelayString = "${ecommerce.refresh-token.purge-interval}",
+            fixedDelayString = "${ecommerce.refresh-token.purge-interval}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = shards.onEach(() -> refreshTokenRepository.deleteExpired(now)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh token(s)", deleted);
+        }
+    }
+
+    private IndexedToken find(String tokenHash) {
+        IndexedToken token = hotIndex.getIfPresent(tokenHash);
+        if (token == null) {
+            // Issued by another instance (or evicted): one indexed read
+            token = shards.findFirst(() -> refreshTokenRepository.findByHash(tokenHash))
+                    .map(IndexedToken::from)
+                    .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        }
+        if (!token.expiresAt().isAfter(Instant.now())) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        return token;
+    }
+
+    /**
+     * @return the number of revoked tokens (0 unless the token was already rotated)
+     */
+    private int revokeFamilyIfReused(String tokenHash, Instant now) {
+        return refreshTokenRepository.findByHash(tokenHash)
+                .filter(stored -> stored.rotatedAt() != null && stored.revokedAt() == null)
+                .map(stored -> {
+                    int revoked = refreshTokenRepository.revokeFamily(stored.familyId(), now);
+                    log.warn("Refresh token reuse for user ID: {}. Revoked {} token(s) of its family.",
+                            stored.userId(), revoked);
+                    return revoked;
+                })
+                .orElse(0);
+    }
+
+    // Must run inside a transaction
+    private String store(IndexedToken previous) {
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String refreshToken = BASE64URL.encodeToString(random);
+        String tokenHash = TokenHashes.sha256(refreshToken);
+
+        IndexedToken token = new IndexedToken(previous.userId(), previous.email(), previous.familyId(),
+                Instant.now().plus(properties.ttl()));
+        refreshTokenRepository.insert(tokenHash, token.userId(), token.familyId(), token.expiresAt());
+        // Indexed before commit: harmless, a token whose row never committed cannot be rotated
+        hotIndex.put(tokenHash, token);
+        return refreshToken;
+    }
+
+    /**
+     * The immutable facts about a token.
+     */
+    private record IndexedToken(long userId, String email, String familyId, Instant expiresAt) {
+
+        static IndexedToken from(StoredRefreshToken stored) {
+            return new IndexedToken(stored.userId(), stored.email(), stored.familyId(), stored.expiresAt());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.user.service.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes tokens for use as keys, so the tokens themselves are never stored.
+ */
+final class TokenHashes {
+
+    private TokenHashes() {
+    }
+
+    /**
+     * BASE64URL(SHA-256(token)), 43 characters.
+     */
+    static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex); // Required of every JVM
+        }
+    }
+}
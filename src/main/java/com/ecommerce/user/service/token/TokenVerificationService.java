@@ -0,0 +1,16 @@
+package com.ecommerce.user.service.token;
+
+import java.util.List;
+
+import com.ecommerce.user.controller.token.dto.TokenVerificationResult;
+
+public interface TokenVerificationService {
+
+    /**
+     * Verifies each token independently.
+     *
+     * @param tokens The tokens to verify
+     * @return One result per token, in request order
+     */
+    List<TokenVerificationResult> verify(List<String> tokens);
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.user.service.token;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.user.controller.token.dto.TokenVerificationResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token Verification Service Implementation.
+ * Uses the same JwtDecoder as the resource server (signature by 'kid', then
+ * exp/nbf), behind the VerifiedTokenCache.
+ *
+ * Exported metrics: token.verification.decode (timer) tagged result=valid|invalid,
+ * the cost of actual signature checks (cache misses only).
+ */
+@Slf4j
+@Service
+public class TokenVerificationServiceImpl implements TokenVerificationService {
+
+    private static final String METRIC_NAME = "token.verification.decode";
+
+    private final JwtDecoder jwtDecoder;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public TokenVerificationServiceImpl(JwtDecoder jwtDecoder, VerifiedTokenCache verifiedTokenCache,
+            MeterRegistry meterRegistry) {
+        this.jwtDecoder = jwtDecoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.validTimer = Timer.builder(METRIC_NAME)
+                .description("Time spent decoding and verifying a token")
+                .tag("result", "valid")
+                .register(meterRegistry);
+        this.invalidTimer = Timer.builder(METRIC_NAME)
+                .description("Time spent decoding and verifying a token")
+                .tag("result", "invalid")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<TokenVerificationResult> verify(List<String> tokens) {
+        List<TokenVerificationResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            try {
+                Jwt jwt = verifiedTokenCache.get(token, this::decode);
+                results.add(TokenVerificationResult.valid(jwt.getClaims()));
+            } catch (JwtException ex) {
+                log.debug("Token rejected: {}", ex.getMessage());
+                results.add(TokenVerificationResult.invalid(ex.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Jwt decode(String token) {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = jwtDecoder.decode(token);
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (JwtException ex) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+}
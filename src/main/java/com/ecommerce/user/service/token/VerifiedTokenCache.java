@@ -0,0 +1,115 @@
+package com.ecommerce.user.service.token;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.user.config.TokenCacheProperties;
+import com.ecommerce.user.framework.jwt.SigningKeyManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded cache of successfully verified tokens, keyed by the SHA-256 of the
+ * token (so keys stay small), so re-verifying a token skips the signature check.
+ *
+ * Each entry expires at the token's 'exp'. Failures are never cached, and a
+ * hit whose signing key ('kid') is no longer published is verified again (and
+ * rejected), so a token is only ever served from here while it would still verify.
+ *
+ * Exported metrics: cache.* tagged cache=token.verification (size, gets, puts, evictions).
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "token.verification";
+
+    private final Cache<String, Jwt> cache; // null when disabled
+    private final Predicate<String> keyPublished;
+    private final Clock clock;
+
+    @Autowired
+    public VerifiedTokenCache(TokenCacheProperties properties, SigningKeyManager signingKeyManager,
+            MeterRegistry meterRegistry) {
+        this(properties, keyId -> keyId != null && signingKeyManager.getPublicJwkSet().getKeyByKeyId(keyId) != null,
+                meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(TokenCacheProperties properties, Predicate<String> keyPublished, MeterRegistry meterRegistry,
+            Ticker ticker, Clock clock) {
+        this.keyPublished = keyPublished;
+        this.clock = clock;
+        if (!properties.enabled()) {
+            this.cache = null;
+            log.info("Verified token cache disabled.");
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new UntilExpiresAt())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("Verified token cache enabled. Maximum size: {}", properties.maximumSize());
+    }
+
+    /**
+     * Returns the cached result for this token, or verifies (and caches) it.
+     * Exceptions thrown by the verifier propagate and leave nothing cached.
+     */
+    public Jwt get(String token, Function<String, Jwt> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        // Verification is CPU-only, so computing inside the cache is fine (no I/O under its lock)
+        String key = TokenHashes.sha256(token);
+        Jwt jwt = cache.get(key, hash -> verifier.apply(token));
+        if (!keyPublished.test((String) jwt.getHeaders().get(JoseHeaderNames.KID))) {
+            // Its signing key was removed or revoked since: verify again, which now fails
+            cache.invalidate(key);
+            return verifier.apply(token);
+        }
+        return jwt;
+    }
+
+    /**
+     * Expires an entry at its token's 'exp'; reads and replacements do not extend it.
+     */
+    private final class UntilExpiresAt implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0; // Not issued by us; do not cache
+            }
+            return Math.max(0, Duration.between(clock.instant(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
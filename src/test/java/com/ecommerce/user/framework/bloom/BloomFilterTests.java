@@ -0,0 +1,50 @@
+package com.ecommerce.user.framework.bloom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+    @Test
+    void neverForgetsAnAddedValue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000); // 1% expected, 2% tolerated
+    }
+
+    @Test
+    void sizesFromTheStandardFormulas() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        assertThat(filter.bitCount()).isBetween(9_500_000L, 9_600_000L); // ~9.6 bits per value
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsImpossibleRates() {
+        assertThatIllegalArgumentException().isThrownBy(() -> BloomFilter.create(100, 1.0));
+    }
+}
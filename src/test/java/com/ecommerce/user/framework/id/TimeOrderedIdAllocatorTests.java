@@ -0,0 +1,61 @@
+package com.ecommerce.user.framework.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdAllocatorTests {
+
+    private static final long NOW = TimeOrderedIdAllocator.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    void packsTimestampNodeAndCounter() {
+        TimeOrderedIdAllocator allocator = new TimeOrderedIdAllocator(5, () -> NOW);
+
+        long first = allocator.nextId(null);
+        long second = allocator.nextId(null);
+
+        assertThat(first >>> 12).isEqualTo(1_000_000);
+        assertThat((first >>> 6) & 63).isEqualTo(5);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(first).isLessThan(1L << 53); // Exact as a JavaScript number
+    }
+
+    @Test
+    void movesToTheNextMillisecondWhenTheCounterIsExhausted() {
+        // The clock only ticks after 66 reads: the 65th id has to wait for it
+        AtomicLong reads = new AtomicLong();
+        TimeOrderedIdAllocator allocator = new TimeOrderedIdAllocator(0,
+                () -> reads.incrementAndGet() <= 66 ? NOW : NOW + 1);
+
+        long last = 0;
+        for (int i = 0; i < 64; i++) {
+            last = allocator.nextId(null);
+        }
+        long next = allocator.nextId(null);
+
+        assertThat(last & 63).isEqualTo(63);
+        assertThat(next >>> 12).isEqualTo(1_000_001);
+        assertThat(next & 63).isZero();
+    }
+
+    @Test
+    void neverGoesBackwardsWhenTheClockDoes() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdAllocator allocator = new TimeOrderedIdAllocator(1, clock::getAndIncrement);
+
+        long before = allocator.nextId(null);
+        clock.set(NOW - 5); // Stepped back; allocation spins until it passes NOW again
+        long after = allocator.nextId(null);
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideSixBits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TimeOrderedIdAllocator(64));
+    }
+}
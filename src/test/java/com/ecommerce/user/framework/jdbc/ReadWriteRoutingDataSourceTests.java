@@ -0,0 +1,122 @@
+package com.ecommerce.user.framework.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two embedded databases, each knowing its own name, behind the same wiring as
+ * DataSourceRoutingConfig.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private static final String WHO_AM_I = "SELECT name FROM whoami";
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        // The replica reports its lag from its own table
+        new JdbcTemplate(replica).execute("CREATE TABLE lag (seconds INT)");
+        setReplicaLag(0);
+
+        routing = new ReadWriteRoutingDataSource(primary, Map.of("replica", replica), Duration.ofSeconds(2),
+                "SELECT seconds FROM lag", new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        routing.checkReplicaLag();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void sendsReadOnlyTransactionsToTheReplica() {
+        assertThat(readWhoAmI()).isEqualTo("replica");
+    }
+
+    @Test
+    void sendsEverythingElseToThePrimary() {
+        assertThat(writeWhoAmI()).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary"); // no transaction, e.g. Liquibase
+    }
+
+    @Test
+    void readsFromThePrimaryWhenForced() {
+        assertThat(PrimaryReads.force(this::readWhoAmI)).isEqualTo("primary");
+        assertThat(readWhoAmI()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFromThePrimaryRightAfterAWrite() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), 100);
+        readYourWrites.written("new@example.com");
+
+        assertThat(readYourWrites.read("new@example.com", this::readWhoAmI))
+                .isEqualTo("primary");
+        assertThat(readYourWrites.read("New@Example.com", this::readWhoAmI)) // Same account, other casing
+                .isEqualTo("primary");
+        assertThat(readYourWrites.read("old@example.com", this::readWhoAmI))
+                .isEqualTo("replica");
+    }
+
+    @Test
+    void takesALaggingReplicaOutOfRotationAndBack() {
+        setReplicaLag(30);
+        routing.checkReplicaLag();
+        assertThat(readWhoAmI()).isEqualTo("primary");
+
+        setReplicaLag(1);
+        routing.checkReplicaLag();
+        assertThat(readWhoAmI()).isEqualTo("replica");
+    }
+
+    private String readWhoAmI() {
+        return readTransaction.execute(status -> whoAmI());
+    }
+
+    private String writeWhoAmI() {
+        return writeTransaction.execute(status -> whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject(WHO_AM_I, String.class);
+    }
+
+    private void setReplicaLag(int seconds) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM lag");
+        replicaJdbc.update("INSERT INTO lag (seconds) VALUES (?)", seconds);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
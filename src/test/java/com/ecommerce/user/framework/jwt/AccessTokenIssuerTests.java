@@ -0,0 +1,56 @@
+package com.ecommerce.user.framework.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+class AccessTokenIssuerTests {
+
+    private static final String ISSUER = "http://user-service:8080";
+    private static final List<String> AUTHORITIES = List.of("ROLE_BUYER_USER", "ROLE_SELLER_ADMIN");
+
+    @ParameterizedTest
+    @EnumSource(JwtSigningAlgorithm.class)
+    void issuesTokensEquivalentToTheJwtEncoder(JwtSigningAlgorithm algorithm) throws Exception {
+        JWK key = algorithm.generateKey("test-kid");
+        JwkSourceJwtDecoder decoder = new JwkSourceJwtDecoder(new ImmutableJWKSet<>(new JWKSet(key)),
+                Set.of(algorithm.getJwsAlgorithm()));
+
+        Jwt fast = decoder.decode(new AccessTokenIssuer(() -> key, ISSUER, 3600).issue("42", AUTHORITIES));
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .subject("42")
+                .claim("authorities", AUTHORITIES)
+                .claim("userId", "42")
+                .build();
+        Jwt generic = decoder.decode(new SigningKeyJwtEncoder(() -> key)
+                .encode(JwtEncoderParameters.from(JwsHeader.with(algorithm.getSpringAlgorithm()).build(), claims))
+                .getTokenValue());
+
+        assertThat(fast.getHeaders()).isEqualTo(generic.getHeaders());
+        assertThat(fast.getClaims().keySet()).isEqualTo(generic.getClaims().keySet());
+        assertThat(fast.getIssuer()).isEqualTo(generic.getIssuer());
+        assertThat(fast.getSubject()).isEqualTo("42");
+        assertThat(fast.getClaimAsStringList("authorities")).isEqualTo(AUTHORITIES);
+        assertThat(fast.getClaimAsString("userId")).isEqualTo("42");
+        assertThat(fast.getExpiresAt()).isEqualTo(fast.getIssuedAt().plusSeconds(3600));
+    }
+}
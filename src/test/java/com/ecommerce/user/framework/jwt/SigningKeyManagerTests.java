@@ -0,0 +1,131 @@
+package com.ecommerce.user.framework.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+import com.ecommerce.user.config.SigningKeyProperties;
+import com.ecommerce.user.constant.JwtSigningAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+
+class SigningKeyManagerTests {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void createsKeystoreOnFirstStartAndReusesItOnRestart() {
+        SigningKeyProperties properties = properties(false);
+
+        String firstKid = newManager(properties).getActiveKey().getKeyID();
+        String restartedKid = newManager(properties).getActiveKey().getKeyID();
+
+        assertThat(restartedKid).isEqualTo(firstKid);
+        assertThat(tempDir.resolve("jwks.json")).exists();
+    }
+
+    @Test
+    void prePublishesActivatesAndRetiresKeys() {
+        SigningKeyManager manager = newManager(properties(true));
+        JWK first = manager.getActiveKey();
+
+        // 1. Inside the pre-publish window: next key is published but does not sign yet
+        clock.advance(Duration.ofDays(29).plusHours(1));
+        manager.refresh();
+        assertThat(manager.getPublicJwkSet().getKeys()).hasSize(2);
+        assertThat(manager.getActiveKey().getKeyID()).isEqualTo(first.getKeyID());
+
+        // 2. Rotation time: next key signs, the old one is kept for verification
+        clock.advance(Duration.ofDays(1));
+        manager.refresh();
+        JWK second = manager.getActiveKey();
+        assertThat(second.getKeyID()).isNotEqualTo(first.getKeyID());
+        assertThat(manager.getPublicJwkSet().getKeyByKeyId(first.getKeyID()).getExpirationTime()).isNotNull();
+
+        // 3. Once tokens signed by the old key have expired, it is removed
+        clock.advance(TOKEN_LIFETIME.plusMinutes(2));
+        manager.refresh();
+        assertThat(manager.getPublicJwkSet().getKeyByKeyId(first.getKeyID())).isNull();
+        assertThat(manager.getActiveKey().getKeyID()).isEqualTo(second.getKeyID());
+    }
+
+    @Test
+    void stopsVerifyingTokensOfARemovedKey() {
+        SigningKeyManager manager = newManager(properties(true));
+        JwkSourceJwtDecoder decoder = new JwkSourceJwtDecoder(manager,
+                Set.of(JwtSigningAlgorithm.ES256.getJwsAlgorithm()));
+        JWK first = manager.getActiveKey();
+        String token = new AccessTokenIssuer(() -> first, "http://user-service:8080", 3600)
+                .issue("42", List.of("ROLE_BUYER_USER"));
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("42");
+
+        // Rotated: the retiring key still verifies
+        clock.advance(Duration.ofDays(29).plusHours(1));
+        manager.refresh();
+        clock.advance(Duration.ofDays(1));
+        manager.refresh();
+        assertThat(manager.getActiveKey().getKeyID()).isNotEqualTo(first.getKeyID());
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("42");
+
+        // Removed: the same decoder rejects it
+        clock.advance(TOKEN_LIFETIME.plusMinutes(2));
+        manager.refresh();
+        assertThat(manager.getPublicJwkSet().getKeyByKeyId(first.getKeyID())).isNull();
+        assertThatThrownBy(() -> decoder.decode(token))
+                .isInstanceOf(BadJwtException.class)
+                .hasMessageContaining("Unknown signing key");
+    }
+
+    private SigningKeyProperties properties(boolean rotation) {
+        return new SigningKeyProperties(tempDir.resolve("jwks.json").toString(), rotation,
+                Duration.ofDays(30), Duration.ofDays(1), Duration.ofMinutes(1));
+    }
+
+    private SigningKeyManager newManager(SigningKeyProperties properties) {
+        return new SigningKeyManager(properties, JwtSigningAlgorithm.ES256, TOKEN_LIFETIME, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
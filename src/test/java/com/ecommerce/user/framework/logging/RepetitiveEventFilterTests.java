@@ -0,0 +1,47 @@
+package com.ecommerce.user.framework.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.util.Duration;
+
+class RepetitiveEventFilterTests {
+
+    private final RepetitiveEventFilter filter = new RepetitiveEventFilter();
+    private final Logger logger = new LoggerContext().getLogger("test");
+
+    @BeforeEach
+    void setUp() {
+        filter.setEventsPerInterval(3);
+        filter.setInterval(Duration.buildByMinutes(10)); // one window for the whole test
+    }
+
+    @Test
+    void limitsEachTemplateSeparately() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(decide(LogMarkers.REPETITIVE, "Login {} failed")).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(decide(LogMarkers.REPETITIVE, "Login {} failed")).isEqualTo(FilterReply.DENY);
+        assertThat(decide(LogMarkers.REPETITIVE, "Validation failed: {}")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesUnmarkedEventsAlone() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(null, "Login {} failed")).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.getSuppressedCount()).isZero();
+    }
+
+    private FilterReply decide(Marker marker, String format) {
+        return filter.decide(marker, logger, Level.WARN, format, new Object[] { "x" }, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.user.framework.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Two embedded shards grow to three: every user ends up where the new shard
+ * count puts its email, with its roles and refresh tokens.
+ */
+class ResharderTests {
+
+    private static final int USERS = 300;
+
+    private final DataSource shard0 = database("0");
+    private final DataSource shard1 = database("1");
+    private final DataSource shard2 = database("2");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(List.of(shard0, shard1, shard2));
+        liquibase.setChangeLog(Resharder.CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        // Users placed by the two-shard layout, each with a role and a refresh token
+        ShardFunction twoShards = new ShardFunction(2);
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            JdbcTemplate shard = new JdbcTemplate(twoShards.shardOf(email) == 0 ? shard0 : shard1);
+            long id = ShardFunction.userId(i + 1, ShardFunction.bucketOf(email));
+            shard.update("INSERT INTO users (id, email, password, display_name) VALUES (?, ?, 'hash', 'User')",
+                    id, email);
+            shard.update("INSERT INTO user_roles (user_id, role_id) "
+                    + "SELECT ?, id FROM roles WHERE name = 'ROLE_BUYER_USER'", id);
+            shard.update("INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at) VALUES (?, ?, ?, ?)",
+                    "hash-" + i, id, "family-" + i, Timestamp.from(Instant.now().plusSeconds(60)));
+        }
+    }
+
+    @Test
+    void movesEveryUserToItsNewShard() {
+        Resharder.Report report = new Resharder(List.of(shard0, shard1), List.of(shard0, shard1, shard2), 50).run();
+
+        ShardFunction threeShards = new ShardFunction(3);
+        List<DataSource> shards = List.of(shard0, shard1, shard2);
+        long expectedOnShard2 = 0;
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            int shard = threeShards.shardOf(email);
+            expectedOnShard2 += shard == 2 ? 1 : 0;
+            for (int candidate = 0; candidate < 3; candidate++) {
+                assertThat(count(shards.get(candidate), "SELECT COUNT(*) FROM users WHERE email = ?", email))
+                        .as("%s on shard %d", email, candidate)
+                        .isEqualTo(candidate == shard ? 1 : 0);
+            }
+        }
+        assertThat(report.scannedUsers()).isEqualTo(USERS);
+        assertThat(report.movedUsers()).isEqualTo(expectedOnShard2).isPositive();
+        for (DataSource shard : shards) {
+            long users = count(shard, "SELECT COUNT(*) FROM users");
+            assertThat(count(shard, "SELECT COUNT(*) FROM user_roles")).isEqualTo(users);
+            assertThat(count(shard, "SELECT COUNT(*) FROM refresh_tokens")).isEqualTo(users);
+        }
+    }
+
+    @Test
+    void movesNothingTheSecondTime() {
+        List<DataSource> to = List.of(shard0, shard1, shard2);
+        new Resharder(List.of(shard0, shard1), to, 50).run();
+
+        assertThat(new Resharder(to, to, 50).run().movedUsers()).isZero();
+    }
+
+    @Test
+    void keepsShardZeroFirst() {
+        assertThatThrownBy(() -> new Resharder(List.of(shard0, shard1), List.of(shard1, shard0), 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long count(DataSource dataSource, String sql, Object... args) {
+        return new JdbcTemplate(dataSource).queryForObject(sql, Long.class, args);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shard-" + name + "-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.user.framework.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class ShardFunctionTests {
+
+    private static final int BUCKET_OF_ALICE = 88;
+    private static final int SHARD_OF_ALICE_OUT_OF_4 = 1;
+
+    @Test
+    void ignoresCaseAndSurroundingSpaces() {
+        assertThat(ShardFunction.bucketOf("  Alice@Example.COM "))
+                .isEqualTo(ShardFunction.bucketOf("alice@example.com"));
+    }
+
+    @Test
+    void neverChangesABucket() {
+        // Buckets are stored in ids and decide where rows live
+        assertThat(ShardFunction.bucketOf("alice@example.com")).isEqualTo(BUCKET_OF_ALICE);
+        assertThat(new ShardFunction(4).shardOfBucket(BUCKET_OF_ALICE)).isEqualTo(SHARD_OF_ALICE_OUT_OF_4);
+    }
+
+    @Test
+    void spreadsEmailsEvenly() {
+        ShardFunction function = new ShardFunction(4);
+        int[] users = new int[4];
+        for (int i = 0; i < 100_000; i++) {
+            users[function.shardOf("user" + i + "@example.com")]++;
+        }
+        for (int count : users) {
+            assertThat(count / 100_000.0).isCloseTo(0.25, within(0.02));
+        }
+    }
+
+    @Test
+    void addingAShardOnlyMovesBucketsToIt() {
+        ShardFunction four = new ShardFunction(4);
+        ShardFunction five = new ShardFunction(5);
+        int moved = 0;
+        for (int bucket = 0; bucket < ShardFunction.BUCKETS; bucket++) {
+            if (four.shardOfBucket(bucket) != five.shardOfBucket(bucket)) {
+                assertThat(five.shardOfBucket(bucket)).isEqualTo(4);
+                moved++;
+            }
+        }
+        assertThat(moved / (double) ShardFunction.BUCKETS).isCloseTo(0.2, within(0.04));
+    }
+
+    @Test
+    void userIdsCarryTheirBucket() {
+        ShardFunction function = new ShardFunction(3);
+        int bucket = ShardFunction.bucketOf("bob@example.com");
+        long userId = ShardFunction.userId(123_456_789L, bucket);
+
+        assertThat(ShardFunction.bucketOfUserId(userId)).isEqualTo(bucket);
+        assertThat(userId >> ShardFunction.BUCKET_BITS).isEqualTo(123_456_789L);
+        assertThat(function.shardOfUserId(userId)).isEqualTo(function.shardOf("bob@example.com"));
+    }
+}
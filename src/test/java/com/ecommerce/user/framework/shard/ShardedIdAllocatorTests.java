@@ -0,0 +1,27 @@
+package com.ecommerce.user.framework.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ShardedIdAllocatorTests {
+
+    private final AtomicLong sequence = new AtomicLong(100);
+    private final ShardedIdAllocator allocator = new ShardedIdAllocator(ownerEmail -> sequence.incrementAndGet());
+
+    @Test
+    void encodesTheOwnersBucketBelowTheSequence() {
+        long id = allocator.nextId("alice@example.com");
+
+        assertThat(ShardFunction.bucketOfUserId(id)).isEqualTo(ShardFunction.bucketOf("alice@example.com"));
+        assertThat(id >> ShardFunction.BUCKET_BITS).isEqualTo(101L);
+    }
+
+    @Test
+    void needsAnOwner() {
+        assertThatThrownBy(() -> allocator.nextId(null)).isInstanceOf(NullPointerException.class);
+    }
+}
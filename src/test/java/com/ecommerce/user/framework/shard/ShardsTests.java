@@ -0,0 +1,21 @@
+package com.ecommerce.user.framework.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ShardsTests {
+
+    @Test
+    void runsOnceWhenUnsharded() {
+        Shards shards = Shards.unsharded();
+        AtomicInteger runs = new AtomicInteger();
+
+        shards.forEach(runs::incrementAndGet);
+
+        assertThat(runs).hasValue(1);
+        assertThat(shards.onEach(() -> null)).containsExactly((Object) null);
+    }
+}
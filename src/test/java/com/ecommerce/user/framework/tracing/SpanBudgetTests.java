@@ -0,0 +1,42 @@
+package com.ecommerce.user.framework.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SpanBudgetTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(42 * SECOND);
+    private final SpanBudget budget = new SpanBudget(10, now::get);
+
+    @Test
+    void takesWholeTracesUntilTheSecondIsUsedUp() {
+        assertThat(budget.tryAcquire(6)).isTrue();
+        assertThat(budget.tryAcquire(5)).isFalse(); // all or nothing
+        assertThat(budget.tryAcquire(4)).isTrue();
+        assertThat(budget.tryAcquire(1)).isFalse();
+    }
+
+    @Test
+    void startsOverEachSecond() {
+        assertThat(budget.tryAcquire(10)).isTrue();
+
+        now.addAndGet(SECOND);
+
+        assertThat(budget.tryAcquire(10)).isTrue();
+    }
+
+    @Test
+    void chargedSpansLeaveLessForNewTraces() {
+        for (int i = 0; i < 8; i++) {
+            budget.charge();
+        }
+
+        assertThat(budget.tryAcquire(3)).isFalse();
+        assertThat(budget.tryAcquire(2)).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.user.framework.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.ecommerce.user.config.LoginThrottleProperties;
+import com.ecommerce.user.service.security.LoginThrottle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+/**
+ * The per-IP bucket of the login throttle, behind Tomcat's X-Forwarded-For
+ * handling configured as in application.yaml.
+ */
+class LoginThrottleFilterTests {
+
+    private static final String GATEWAY = "10.0.3.7";
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(new LoginThrottleProperties(true, 100L,
+            new LoginThrottleProperties.Limit(100, Duration.ofMinutes(1)),
+            new LoginThrottleProperties.Limit(1, Duration.ofMinutes(1))),
+            new SimpleMeterRegistry());
+    private final LoginThrottleFilter throttleFilter = new LoginThrottleFilter(loginThrottle, new ObjectMapper());
+    private final RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+
+    LoginThrottleFilterTests() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yaml"))
+                .forEach(environment.getPropertySources()::addLast);
+        assertThat(environment.getProperty("server.forward-headers-strategy")).isEqualTo("native");
+        remoteIpFilter.setInternalProxies(environment.getProperty("server.tomcat.remoteip.internal-proxies"));
+    }
+
+    @Test
+    void keysClientsRelayedByTheGatewaySeparately() throws Exception {
+        assertThat(login(GATEWAY, "203.0.113.1")).isEqualTo(200);
+        assertThat(login(GATEWAY, "203.0.113.2")).isEqualTo(200);
+
+        assertThat(login(GATEWAY, "203.0.113.1")).isEqualTo(429);
+    }
+
+    @Test
+    void ignoresForwardedForSentByTheClientItself() throws Exception {
+        // Not from a trusted proxy: a made-up header does not earn a fresh bucket
+        assertThat(login("198.51.100.9", "203.0.113.1")).isEqualTo(200);
+
+        assertThat(login("198.51.100.9", "203.0.113.2")).isEqualTo(429);
+    }
+
+    @Test
+    void keysOnTheHopBeforeTheGatewayWhenTheClientPrependsOne() throws Exception {
+        assertThat(login(GATEWAY, "192.0.2.50, 203.0.113.1")).isEqualTo(200);
+
+        assertThat(login(GATEWAY, "192.0.2.51, 203.0.113.1")).isEqualTo(429);
+    }
+
+    @Test
+    void throttlesAPercentEncodedLoginPathToo() throws Exception {
+        assertThat(login(GATEWAY, "203.0.113.1")).isEqualTo(200);
+
+        // Still routed to LoginController, so it must not get past the buckets
+        assertThat(login(GATEWAY, "203.0.113.1", "/api/v1/users/%6Cogin")).isEqualTo(429);
+    }
+
+    private int login(String remoteAddr, String forwardedFor) throws IOException, ServletException {
+        return login(remoteAddr, forwardedFor, LoginThrottleFilter.LOGIN_PATH);
+    }
+
+    // Like Tomcat: the request URI as sent, the servlet path decoded
+    private int login(String remoteAddr, String forwardedFor, String requestUri)
+            throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", requestUri);
+        request.setServletPath(LoginThrottleFilter.LOGIN_PATH);
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        request.setContent("{\"email\":\"alice@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        remoteIpFilter.doFilter(request, response,
+                (forwarded, out) -> throttleFilter.doFilter(forwarded, out, new MockFilterChain()));
+        return response.getStatus();
+    }
+}
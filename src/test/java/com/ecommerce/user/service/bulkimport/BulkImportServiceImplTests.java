@@ -0,0 +1,246 @@
+package com.ecommerce.user.service.bulkimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.user.config.AuthCacheProperties;
+import com.ecommerce.user.config.BulkImportProperties;
+import com.ecommerce.user.config.EmailFilterProperties;
+import com.ecommerce.user.constant.ImportFormat;
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.controller.bulkimport.dto.ImportRowFailure;
+import com.ecommerce.user.controller.bulkimport.dto.ImportSummary;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.framework.shard.Resharder;
+import com.ecommerce.user.framework.shard.ShardedSpringLiquibase;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.model.db.entity.Role;
+import com.ecommerce.user.repository.db.RoleRepository;
+import com.ecommerce.user.repository.db.UserBatchRepository;
+import com.ecommerce.user.repository.db.UserRepository;
+import com.ecommerce.user.service.role.RoleRegistry;
+import com.ecommerce.user.service.security.AuthUserCache;
+import com.ecommerce.user.service.security.BoundedExecutorPasswordEncoder;
+import com.ecommerce.user.service.security.RegisteredEmailFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validation;
+
+/**
+ * Imports into an embedded database with the real changelog; hashing is a
+ * cheap stand-in that can also play a signup racing the import.
+ */
+class BulkImportServiceImplTests {
+
+    private static final String RACING_PASSWORD = "racing-signup";
+
+    private final DataSource dataSource = database();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final List<ImportRowFailure> failures = new ArrayList<>();
+
+    private BulkImportServiceImpl bulkImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(List.of(dataSource));
+        liquibase.setChangeLog(Resharder.CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        RoleRegistry roleRegistry = new RoleRegistry(roles());
+        roleRegistry.afterPropertiesSet();
+        AtomicLong ids = new AtomicLong(1000);
+        bulkImportService = new BulkImportServiceImpl(new BulkImportProperties(2, 10),
+                new UserBatchRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate)), roleRegistry,
+                new BoundedExecutorPasswordEncoder(new RacingPasswordEncoder(), null, ObservationRegistry.NOOP),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                new AuthUserCache(new AuthCacheProperties(true, 100L, Duration.ofMinutes(5)),
+                        new SimpleMeterRegistry()),
+                new RegisteredEmailFilter(unusedUserRepository(), Shards.unsharded(), new EmailFilterProperties(false,
+                        1000L, 0.01, 100, Duration.ofHours(6), Duration.ofSeconds(5), Duration.ofMinutes(1)),
+                        new SimpleMeterRegistry()),
+                new ReadYourWrites(Duration.ofSeconds(10), 100L), ownerEmail -> ids.incrementAndGet(),
+                Shards.unsharded(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkImportService.destroy();
+    }
+
+    @Test
+    void reportsMalformedNdjsonRowsAndImportsTheRest() {
+        ImportSummary summary = importBody(ImportFormat.NDJSON, """
+                {"email":"a@example.com","password":"Password1!","displayName":"A"}
+                {"email":"b@example.com",
+                null
+
+                42
+                {"email":"not-an-email","password":"Password1!","displayName":"C"}
+                {"email":"d@example.com","password":"Password1!","displayName":"D"}
+                """);
+
+        assertThat(summary).isEqualTo(new ImportSummary(6, 2, 4));
+        assertThat(failures).extracting(ImportRowFailure::line, ImportRowFailure::email)
+                .containsExactly(tuple(2L, null), tuple(3L, null), tuple(5L, null), tuple(6L, "not-an-email"));
+        assertThat(failures.get(1).error()).isEqualTo("Expected a JSON object");
+        assertThat(failures.get(2).error()).isEqualTo("Expected a JSON object");
+        assertThat(failures.get(3).error()).startsWith("email: ");
+        assertThat(emails()).containsExactly("a@example.com", "d@example.com");
+        assertThat(count("SELECT COUNT(*) FROM user_roles")).isEqualTo(2L * RoleName.DEFAULT_ROLES.size());
+    }
+
+    @Test
+    void readsCsvColumnsByHeaderWithQuotedFields() {
+        ImportSummary summary = importBody(ImportFormat.CSV, """
+                displayName,email,password
+                "Doe, Jane",jane@example.com,Password1!
+                short@example.com,Password1!
+                """);
+
+        assertThat(summary).isEqualTo(new ImportSummary(2, 1, 1));
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.line()).isEqualTo(3);
+            assertThat(failure.error()).isEqualTo("Expected at least 3 columns, got 2");
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT display_name FROM users WHERE email = 'jane@example.com'",
+                String.class)).isEqualTo("Doe, Jane");
+    }
+
+    @Test
+    void keepsTheFirstOfDuplicateEmailsInAChunk() {
+        ImportSummary summary = importBody(ImportFormat.NDJSON, """
+                {"email":"a@example.com","password":"Password1!","displayName":"First"}
+                {"email":"A@Example.com","password":"Password1!","displayName":"Second"}
+                """);
+
+        assertThat(summary).isEqualTo(new ImportSummary(2, 1, 1));
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.line()).isEqualTo(2);
+            assertThat(failure.error()).isEqualTo("Duplicate email in import");
+        });
+        assertThat(jdbcTemplate.queryForList("SELECT display_name FROM users", String.class))
+                .containsExactly("First");
+    }
+
+    @Test
+    void skipsEmailsThatAreAlreadyRegistered() {
+        importBody(ImportFormat.NDJSON, """
+                {"email":"a@example.com","password":"Password1!","displayName":"A"}
+                """);
+        failures.clear();
+
+        ImportSummary summary = importBody(ImportFormat.NDJSON, """
+                {"email":"a@example.com","password":"Password1!","displayName":"A again"}
+                {"email":"b@example.com","password":"Password1!","displayName":"B"}
+                """);
+
+        assertThat(summary).isEqualTo(new ImportSummary(2, 1, 1));
+        assertThat(failures).extracting(ImportRowFailure::error).containsExactly("Email already exists");
+        assertThat(emails()).containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void retriesRowByRowWhenASignupTakesAnEmailMidChunk() {
+        // racer@ is registered while the chunk is hashed, after the existing-email check
+        ImportSummary summary = importBody(ImportFormat.NDJSON, """
+                {"email":"a@example.com","password":"Password1!","displayName":"A"}
+                {"email":"racer@example.com","password":"racing-signup","displayName":"Import"}
+                {"email":"b@example.com","password":"Password1!","displayName":"B"}
+                """);
+
+        assertThat(summary).isEqualTo(new ImportSummary(3, 2, 1));
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.line()).isEqualTo(2);
+            assertThat(failure.error()).isEqualTo("Email already exists");
+        });
+        assertThat(emails()).containsExactly("a@example.com", "b@example.com", "racer@example.com");
+        assertThat(jdbcTemplate.queryForObject("SELECT display_name FROM users WHERE email = 'racer@example.com'",
+                String.class)).isEqualTo("Signup");
+        assertThat(count("SELECT COUNT(*) FROM user_roles")).isEqualTo(2L * RoleName.DEFAULT_ROLES.size());
+    }
+
+    private ImportSummary importBody(ImportFormat format, String body) {
+        return bulkImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                format, failures::add);
+    }
+
+    private List<String> emails() {
+        return jdbcTemplate.queryForList("SELECT email FROM users ORDER BY email", String.class);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    /**
+     * Stands in for the calibrated encoder; hashing the racing password commits a signup for its row's email.
+     */
+    private final class RacingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (RACING_PASSWORD.contentEquals(rawPassword)) {
+                jdbcTemplate.update("INSERT INTO users (id, email, password, display_name) "
+                        + "VALUES (1, 'racer@example.com', 'hash', 'Signup')");
+            }
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private RoleRepository roles() {
+        return (RoleRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { RoleRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> jdbcTemplate.query("SELECT id, name FROM roles", (rs, rowNum) -> {
+                        Role role = new Role();
+                        role.setId(rs.getInt("id"));
+                        role.setName(RoleName.valueOf(rs.getString("name")));
+                        return role;
+                    });
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // The filter is disabled, so it never reads users
+    private static UserRepository unusedUserRepository() {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class }, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static DataSource database() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulk-import-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.user.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.user.config.AuthCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthUserCacheTests {
+
+    private static final AuthSnapshot SNAPSHOT =
+            new AuthSnapshot(1L, "user@example.com", "{bcrypt}hash", Set.of("ROLE_BUYER_USER"));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedLookupsFromCacheUntilEvicted() {
+        AuthUserCache cache = newCache(true);
+
+        cache.get("user@example.com", this::load);
+        cache.get("USER@example.com", this::load); // same account, different case
+        assertThat(loads).hasValue(1);
+
+        cache.evict("User@Example.com");
+        cache.get("user@example.com", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheUnknownEmails() {
+        AuthUserCache cache = newCache(true);
+
+        assertThat(cache.get("missing@example.com", this::loadNothing)).isEmpty();
+        assertThat(cache.get("missing@example.com", this::loadNothing)).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void alwaysLoadsWhenDisabled() {
+        AuthUserCache cache = newCache(false);
+
+        assertThat(cache.get("user@example.com", this::load)).contains(SNAPSHOT);
+        cache.get("user@example.com", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    private AuthUserCache newCache(boolean enabled) {
+        return new AuthUserCache(new AuthCacheProperties(enabled, 100L, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry());
+    }
+
+    private Optional<AuthSnapshot> load(String email) {
+        loads.incrementAndGet();
+        return Optional.of(SNAPSHOT);
+    }
+
+    private Optional<AuthSnapshot> loadNothing(String email) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.user.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.user.config.LoginThrottleProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottle throttle = new LoginThrottle(new LoginThrottleProperties(true, 100L,
+            new LoginThrottleProperties.Limit(3, Duration.ofSeconds(10)),
+            new LoginThrottleProperties.Limit(2, Duration.ofSeconds(1))),
+            meterRegistry, clock::get);
+
+    @Test
+    void allowsABurstOfCapacityThenRejectsUntilATokenIsEarned() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.acquireForEmail("a@example.com")).isZero();
+        }
+        assertThat(throttle.acquireForEmail("a@example.com")).isEqualTo(Duration.ofSeconds(10));
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(throttle.acquireForEmail("a@example.com")).isEqualTo(Duration.ofSeconds(6));
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(throttle.acquireForEmail("a@example.com")).isZero();
+        assertThat(throttle.acquireForEmail("a@example.com")).isPositive();
+    }
+
+    @Test
+    void keysEmailsCaseInsensitivelyAndLimitsIndependently() {
+        throttle.acquireForEmail("A@example.com");
+        throttle.acquireForEmail("a@EXAMPLE.com");
+        throttle.acquireForEmail("a@example.com");
+
+        assertThat(throttle.acquireForEmail("a@example.com")).isPositive();
+        assertThat(throttle.acquireForEmail("b@example.com")).isZero();
+        assertThat(throttle.acquireForIp("10.0.0.1")).isZero();
+    }
+
+    @Test
+    void countsRejectionsPerLimit() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquireForIp("10.0.0.1");
+        }
+
+        assertThat(meterRegistry.get("auth.login.throttled").tag("limit", "ip").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.login.throttled").tag("limit", "email").counter().count()).isZero();
+    }
+}
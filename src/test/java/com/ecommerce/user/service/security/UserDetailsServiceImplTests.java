@@ -0,0 +1,97 @@
+package com.ecommerce.user.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.user.config.AuthCacheProperties;
+import com.ecommerce.user.config.EmailFilterProperties;
+import com.ecommerce.user.constant.RoleName;
+import com.ecommerce.user.exception.UserNotFoundException;
+import com.ecommerce.user.framework.jdbc.ReadYourWrites;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.model.db.projection.AuthRow;
+import com.ecommerce.user.repository.db.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Logins against a users table shared with other instances, which this
+ * instance's RegisteredEmailFilter only learns about at its next sync.
+ */
+class UserDetailsServiceImplTests {
+
+    private final Map<String, AuthRow> users = new ConcurrentHashMap<>();
+    private final UserRepository userRepository = usersTable();
+    private final RegisteredEmailFilter registeredEmailFilter = new RegisteredEmailFilter(userRepository,
+            Shards.unsharded(), new EmailFilterProperties(true, 1000L, 0.01, 100,
+                    Duration.ofHours(6), Duration.ofSeconds(5), Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+    private final UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository,
+            new AuthUserCache(new AuthCacheProperties(true, 100L, Duration.ofMinutes(5)), new SimpleMeterRegistry()),
+            ObservationRegistry.NOOP, new ReadYourWrites(Duration.ofSeconds(10), 100L));
+
+    @Test
+    void logsInAUserRegisteredElsewhereBeforeTheFilterSyncs() {
+        registeredEmailFilter.rebuild();
+
+        // Committed by another instance: no add() here, and no sync() yet
+        users.put("alice@example.com", row(7L, "alice@example.com"));
+        assertThat(registeredEmailFilter.mightExist("alice@example.com")).isFalse();
+
+        SecurityUser user = (SecurityUser) userDetailsService.loadUserByUsername("alice@example.com");
+        assertThat(user.getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void rejectsAnUnknownEmail() {
+        registeredEmailFilter.rebuild();
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("nobody@example.com"))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    // Just the reads of login and of a filter rebuild
+    private UserRepository usersTable() {
+        return (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { UserRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "count" -> (long) users.size();
+                    case "findAuthRowsByEmail" -> users.containsKey((String) args[0])
+                            ? List.of(users.get((String) args[0])) : List.of();
+                    case "findEmailPage", "findEmailsCreatedSince" -> List.of(); // Before alice registered
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static AuthRow row(long userId, String email) {
+        return new AuthRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getPasswordHash() {
+                return "{bcrypt}hash";
+            }
+
+            @Override
+            public RoleName getRoleName() {
+                return RoleName.ROLE_BUYER_USER;
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.user.service.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.user.config.RefreshTokenProperties;
+import com.ecommerce.user.exception.InvalidRefreshTokenException;
+import com.ecommerce.user.framework.shard.Resharder;
+import com.ecommerce.user.framework.shard.ShardedSpringLiquibase;
+import com.ecommerce.user.framework.shard.Shards;
+import com.ecommerce.user.repository.db.RefreshTokenRepository;
+
+/**
+ * Two instances sharing one embedded database, each with its own hot index.
+ */
+class RefreshTokenManagerTests {
+
+    private static final long USER_ID = 42L;
+    private static final String EMAIL = "alice@example.com";
+
+    private final DataSource dataSource = database();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final RefreshTokenRepository refreshTokenRepository = new RefreshTokenRepository(jdbcTemplate);
+
+    private RefreshTokenManager instanceA;
+    private RefreshTokenManager instanceB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ShardedSpringLiquibase liquibase = new ShardedSpringLiquibase(List.of(dataSource));
+        liquibase.setChangeLog(Resharder.CHANGE_LOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        jdbcTemplate.update("INSERT INTO users (id, email, password, display_name) VALUES (?, ?, 'hash', 'Alice')",
+                USER_ID, EMAIL);
+
+        instanceA = newInstance();
+        instanceB = newInstance();
+    }
+
+    @Test
+    void rotatesOnceAndRevokesTheFamilyWhenTheOldTokenComesBack() {
+        String issued = instanceA.issue(USER_ID, EMAIL);
+        String rotated = instanceA.rotate(issued);
+        assertThat(rotated).isNotEqualTo(issued);
+
+        // The old token again: rejected, and the successor it produced dies with it
+        assertThatThrownBy(() -> instanceA.rotate(issued)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> instanceA.rotate(rotated)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE revoked_at IS NULL", Long.class)).isZero();
+    }
+
+    @Test
+    void resolvesATokenRotatedOnAnotherInstanceFromTheTable() {
+        String issued = instanceA.issue(USER_ID, EMAIL);
+
+        // B never saw either token: it reads the first, A the second
+        String rotated = instanceB.rotate(issued);
+        assertThat(instanceA.resolve(rotated)).isEqualTo(new RefreshTokenManager.TokenOwner(USER_ID, EMAIL));
+        assertThat(instanceA.rotate(rotated)).isNotBlank();
+
+        // A still indexes the first token, but the table says it is used
+        assertThatThrownBy(() -> instanceA.rotate(issued)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        refreshTokenRepository.insert(TokenHashes.sha256("expired"), USER_ID, "family",
+                Instant.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> instanceA.resolve("expired"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token expired");
+        assertThatThrownBy(() -> instanceA.rotate("expired")).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void rejectsAnUnknownToken() {
+        assertThatThrownBy(() -> instanceA.rotate("never-issued"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Unknown refresh token");
+    }
+
+    private RefreshTokenManager newInstance() {
+        return new RefreshTokenManager(refreshTokenRepository,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), Shards.unsharded(),
+                new RefreshTokenProperties(Duration.ofDays(14), 100L, Duration.ofHours(1)));
+    }
+
+    private static DataSource database() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:refresh-tokens-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.user.service.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.ecommerce.user.config.TokenCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTests {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicBoolean keyPublished = new AtomicBoolean(true);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(new TokenCacheProperties(true, 100L),
+            keyId -> keyPublished.get(), new SimpleMeterRegistry(), elapsedNanos::get, new Clock() {
+                @Override
+                public Instant instant() {
+                    return START.plusNanos(elapsedNanos.get());
+                }
+
+                @Override
+                public ZoneOffset getZone() {
+                    return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(ZoneId zone) {
+                    throw new UnsupportedOperationException();
+                }
+            });
+
+    @Test
+    void verifiesEachTokenOnceUntilItExpires() {
+        cache.get("token-a", this::verifyExpiringIn10Minutes);
+        cache.get("token-a", this::verifyExpiringIn10Minutes);
+        cache.get("token-b", this::verifyExpiringIn10Minutes);
+        assertThat(verifications).hasValue(2);
+
+        elapsedNanos.addAndGet(Duration.ofMinutes(10).toNanos());
+        cache.get("token-a", this::verifyExpiringIn10Minutes);
+        assertThat(verifications).hasValue(3);
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> cache.get("bad", token -> {
+                verifications.incrementAndGet();
+                throw new BadJwtException("Invalid signature");
+            }));
+        }
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void verifiesAgainOnceTheSigningKeyIsWithdrawn() {
+        cache.get("token-a", this::verifyExpiringIn10Minutes);
+        keyPublished.set(false);
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> cache.get("token-a", token -> {
+            verifications.incrementAndGet();
+            throw new BadJwtException("Unknown signing key: kid-1");
+        }));
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Jwt verifyExpiringIn10Minutes(String token) {
+        verifications.incrementAndGet();
+        Instant now = START.plusNanos(elapsedNanos.get());
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .header("kid", "kid-1")
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofMinutes(10)))
+                .build();
+    }
+}